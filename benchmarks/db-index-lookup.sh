@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# ============================================================
+#  QuarkGate DB Index Benchmark
+#  Lookup latency at 1M rows, with and without the Flyway indexes:
+#    orders.userId            (idx_orders_user_id)
+#    payments.orderId         (uk_payments_order_id)
+#
+#  Works on a scratch "bench" schema cloned from the migrated
+#  tables, so the seed data is left untouched.
+#
+#  Usage: ./db-index-lookup.sh [rows] [lookups]
+# ============================================================
+set -euo pipefail
+
+ROWS="${1:-1000000}"
+LOOKUPS="${2:-1000}"
+COMPOSE="${COMPOSE:-docker compose}"
+
+CYAN='\033[0;36m'
+NC='\033[0m'
+
+# $1 = compose service, $2 = database, stdin = SQL
+psql_in() {
+    $COMPOSE exec -T "$1" psql -q -v ON_ERROR_STOP=1 -U postgres -d "$2"
+}
+
+# Runs $LOOKUPS random equality lookups and reports the mean latency
+lookup_sql() {
+    local table="$1" column="$2" label="$3"
+    cat <<SQL
+DO \$\$
+DECLARE
+    started timestamptz := clock_timestamp();
+    hits bigint := 0;
+BEGIN
+    FOR i IN 1..${LOOKUPS} LOOP
+        hits := hits + (SELECT count(*) FROM bench.${table} WHERE ${column} = (random() * ${ROWS})::bigint);
+    END LOOP;
+    RAISE NOTICE '%: % lookups, mean % ms', '${label}', ${LOOKUPS},
+        round((extract(epoch FROM clock_timestamp() - started) * 1000 / ${LOOKUPS})::numeric, 3);
+END
+\$\$;
+SQL
+}
+
+echo -e "${CYAN}== order-db: orders.userId at ${ROWS} rows ==${NC}"
+{
+    cat <<SQL
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+CREATE TABLE bench.orders (LIKE public.orders INCLUDING DEFAULTS);
+INSERT INTO bench.orders (id, userId, status, totalAmount, createdAt)
+SELECT g, (random() * ${ROWS} / 5)::bigint, 'PENDING', 100, now() FROM generate_series(1, ${ROWS}) g;
+CREATE INDEX idx_orders_user_id ON bench.orders (userId);
+ANALYZE bench.orders;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM bench.orders WHERE userId = 42;
+SQL
+    lookup_sql orders userId "with idx_orders_user_id"
+    echo "DROP INDEX bench.idx_orders_user_id;"
+    echo "EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM bench.orders WHERE userId = 42;"
+    lookup_sql orders userId "without index (seq scan)"
+    echo "DROP SCHEMA bench CASCADE;"
+} | psql_in order-db orderdb
+
+echo -e "${CYAN}== payment-db: payments.orderId at ${ROWS} rows ==${NC}"
+{
+    cat <<SQL
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+CREATE TABLE bench.payments (LIKE public.payments INCLUDING DEFAULTS);
+INSERT INTO bench.payments (id, orderId, amount, method, status, processedAt)
+SELECT g, g, 100, 'UPI', 'SUCCESS', now() FROM generate_series(1, ${ROWS}) g;
+ALTER TABLE bench.payments ADD CONSTRAINT uk_payments_order_id UNIQUE (orderId);
+ANALYZE bench.payments;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM bench.payments WHERE orderId = 424242;
+SQL
+    lookup_sql payments orderId "with uk_payments_order_id"
+    echo "ALTER TABLE bench.payments DROP CONSTRAINT uk_payments_order_id;"
+    echo "EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM bench.payments WHERE orderId = 424242;"
+    lookup_sql payments orderId "without index (seq scan)"
+    echo "DROP SCHEMA bench CASCADE;"
+} | psql_in payment-db paymentdb
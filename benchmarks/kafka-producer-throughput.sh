@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# ============================================================
+#  QuarkGate Kafka Producer Throughput
+#  Default producer settings vs the order-events-out profile
+#  (linger/batch sizing, lz4, idempotence, acks=all), measured
+#  with kafka-producer-perf-test against a throwaway Redpanda.
+#
+#  Usage: ./kafka-producer-throughput.sh [records]
+# ============================================================
+set -euo pipefail
+
+RECORDS="${1:-500000}"
+CONTAINER="quarkgate-bench-redpanda"
+TOPIC="order-events-bench"
+PERF_IMAGE="confluentinc/cp-kafka:7.5.0"
+PAYLOAD_FILE="$(mktemp)"
+
+# Same values as order-service application.properties (order-service.kafka.producer.*)
+LINGER_MS="${LINGER_MS:-20}"
+BATCH_SIZE="${BATCH_SIZE:-65536}"
+COMPRESSION="${COMPRESSION:-lz4}"
+
+GREEN='\033[0;32m'
+CYAN='\033[0;36m'
+NC='\033[0m'
+
+cleanup() {
+    docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+    rm -f "$PAYLOAD_FILE"
+}
+trap cleanup EXIT
+
+# OrderCreatedEvent-shaped JSON payloads, one per line
+for i in $(seq 1 1000); do
+    printf '{"orderId":%d,"userId":%d,"totalAmount":%d.00,"status":"PENDING","createdAt":"2026-01-01T12:00:00","productIds":[%d,%d]}\n' \
+        "$i" $((i % 50 + 1)) $((i * 7 % 20000 + 99)) $((i % 10 + 1)) $((i % 7 + 1))
+done > "$PAYLOAD_FILE"
+
+echo -e "${CYAN}Starting Redpanda...${NC}"
+docker run -d --name "$CONTAINER" -p 19092:19092 redpandadata/redpanda:v24.2.7 \
+    redpanda start --mode dev-container --smp 1 \
+    --kafka-addr PLAINTEXT://0.0.0.0:19092 --advertise-kafka-addr PLAINTEXT://localhost:19092 > /dev/null
+until docker exec "$CONTAINER" rpk cluster health 2>/dev/null | grep -q 'Healthy:.*true'; do sleep 1; done
+docker exec "$CONTAINER" rpk topic create "$TOPIC" -p 6 > /dev/null
+
+run() {
+    local label="$1"; shift
+    echo -e "${GREEN}== ${label} ==${NC}"
+    docker run --rm --network host -v "$PAYLOAD_FILE":/payloads.ndjson:ro "$PERF_IMAGE" \
+        kafka-producer-perf-test --topic "$TOPIC" --num-records "$RECORDS" --throughput -1 \
+        --payload-file /payloads.ndjson \
+        --producer-props bootstrap.servers=localhost:19092 "$@" | tail -1
+}
+
+# Client defaults, which is what order-events-out used before
+run "default producer (linger.ms=0, batch.size=16384, no compression)"
+run "order-events-out profile (linger.ms=${LINGER_MS}, batch.size=${BATCH_SIZE}, ${COMPRESSION})" \
+    acks=all enable.idempotence=true max.in.flight.requests.per.connection=5 \
+    linger.ms="$LINGER_MS" batch.size="$BATCH_SIZE" compression.type="$COMPRESSION"
@@ -0,0 +1,109 @@
+/**
+ * k6 Load Test: Virtual Threads vs Worker Pool
+ *
+ * Drives the blocking REST resources of user-, product- and payment-service
+ * directly at gateway fan-out concurrency (up to 800 VUs), so the worker pool
+ * saturates long before CPU does. Run it once per execution mode and compare
+ * the two summaries:
+ *
+ *   ./mvnw package -DskipTests -Pworker-pool -pl common,user-service,product-service,payment-service
+ *   docker compose up -d --build user-service product-service payment-service
+ *   k6 run -e MODE=worker-pool benchmarks/virtual-threads.js
+ *
+ *   ./mvnw package -DskipTests -pl common,user-service,product-service,payment-service
+ *   docker compose up -d --build user-service product-service payment-service
+ *   k6 run -e MODE=virtual-threads benchmarks/virtual-threads.js
+ *
+ * Usage:
+ *   k6 run -e MODE=<label> benchmarks/virtual-threads.js
+ */
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend, Rate } from 'k6/metrics';
+
+// ── Custom Metrics ─────────────────────────────────────────
+const userDuration = new Trend('vt_user_call_ms', true);
+const productDuration = new Trend('vt_product_call_ms', true);
+const paymentDuration = new Trend('vt_payment_call_ms', true);
+const errors = new Rate('vt_errors');
+
+// ── Configuration ──────────────────────────────────────────
+const MODE = __ENV.MODE || 'unlabelled';
+const USER_URL = __ENV.USER_URL || 'http://localhost:8081';
+const PRODUCT_URL = __ENV.PRODUCT_URL || 'http://localhost:8082';
+const PAYMENT_URL = __ENV.PAYMENT_URL || 'http://localhost:8084';
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '800', 10);
+
+export const options = {
+    scenarios: {
+        fan_out: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '20s', target: MAX_VUS / 4 },
+                { duration: '20s', target: MAX_VUS / 2 },
+                { duration: '30s', target: MAX_VUS },
+                { duration: '30s', target: MAX_VUS },
+                { duration: '10s', target: 0 },
+            ],
+            tags: { mode: MODE },
+        },
+    },
+    thresholds: {
+        vt_errors: ['rate<0.05'],
+    },
+};
+
+export default function () {
+    // Same shape as one gateway fan-out: user, a few products, a payment
+    const id = 1 + (__ITER % 3);
+    const responses = http.batch([
+        ['GET', `${USER_URL}/users/${id}`, null, { tags: { name: 'user', mode: MODE } }],
+        ['GET', `${PRODUCT_URL}/products/${id}`, null, { tags: { name: 'product', mode: MODE } }],
+        ['GET', `${PRODUCT_URL}/products/${id + 1}`, null, { tags: { name: 'product', mode: MODE } }],
+        ['GET', `${PAYMENT_URL}/payments/order/${id}`, null, { tags: { name: 'payment', mode: MODE } }],
+    ]);
+
+    userDuration.add(responses[0].timings.duration);
+    productDuration.add(responses[1].timings.duration);
+    productDuration.add(responses[2].timings.duration);
+    paymentDuration.add(responses[3].timings.duration);
+
+    for (const res of responses) {
+        const ok = check(res, { 'status 200': (r) => r.status === 200 });
+        errors.add(!ok);
+    }
+}
+
+export function handleSummary(data) {
+    const summary = {
+        type: 'Virtual Threads',
+        mode: MODE,
+        maxVus: MAX_VUS,
+        timestamp: new Date().toISOString(),
+        metrics: {},
+    };
+
+    const metricsOfInterest = [
+        'vt_user_call_ms',
+        'vt_product_call_ms',
+        'vt_payment_call_ms',
+        'vt_errors',
+        'http_req_duration',
+        'http_reqs',
+    ];
+
+    for (const m of metricsOfInterest) {
+        if (data.metrics[m]) {
+            summary.metrics[m] = data.metrics[m].values;
+        }
+    }
+
+    return {
+        [`benchmarks/results/virtual-threads-${MODE}-summary.json`]: JSON.stringify(summary, null, 2),
+        stdout: k6Summary(data, { indent: ' ', enableColors: true }),
+    };
+}
+
+import { textSummary as k6Summary } from 'https://jslib.k6.io/k6-summary/0.1.0/index.js';
@@ -0,0 +1,24 @@
+package org.acme.common.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page. {@code items} are ordered by id; pass the last item's id as
+ * {@code after} to fetch the next page while {@code hasNext} is true.
+ */
+public class PageDTO<T> {
+
+    public List<T> items;
+    public boolean hasNext;
+
+    /**
+     * Builds a page from a query that fetched up to {@code size + 1} rows: the extra
+     * row, if present, only signals that another page exists.
+     */
+    public static <T> PageDTO<T> of(List<T> rows, int size) {
+        PageDTO<T> page = new PageDTO<>();
+        page.hasNext = rows.size() > size;
+        page.items = page.hasNext ? rows.subList(0, size) : rows;
+        return page;
+    }
+}
@@ -1,5 +1,6 @@
 import { ApolloClient, ApolloLink, InMemoryCache, HttpLink, Observable, split } from '@apollo/client';
 import { setContext } from '@apollo/client/link/context';
+import { PersistedQueryLink } from '@apollo/client/link/persisted-queries';
 import { getMainDefinition } from '@apollo/client/utilities';
 import { print } from 'graphql';
 import keycloak from '../auth/keycloak';
@@ -19,6 +20,17 @@ const authLink = setContext((_, { headers }) => {
   };
 });
 
+// Automatic Persisted Queries: send only the SHA-256 of the query text; the
+// gateway answers PERSISTED_QUERY_NOT_FOUND once and the link retries with the full text
+async function sha256(query) {
+  const digest = await crypto.subtle.digest('SHA-256', new TextEncoder().encode(query));
+  return Array.from(new Uint8Array(digest))
+    .map((b) => b.toString(16).padStart(2, '0'))
+    .join('');
+}
+
+const persistedQueryLink = new PersistedQueryLink({ sha256 });
+
 // Custom SSE link for SmallRye GraphQL subscriptions
 class SSELink extends ApolloLink {
   request(operation) {
@@ -87,7 +99,7 @@ const splitLink = split(
     );
   },
   sseLink,
-  authLink.concat(httpLink)
+  ApolloLink.from([authLink, persistedQueryLink, httpLink])
 );
 
 const client = new ApolloClient({
@@ -25,8 +25,20 @@ export const CREATE_ORDER = gql`
 `;
 
 export const ORDER_CREATED_SUBSCRIPTION = gql`
-  subscription OnOrderCreated {
-    orderCreated {
+  subscription OnOrderCreated($userId: BigInteger, $status: String) {
+    orderCreated(userId: $userId, status: $status) {
+      id
+      userId
+      status
+      totalAmount
+      createdAt
+    }
+  }
+`;
+
+export const ORDERS_CREATED_BATCH_SUBSCRIPTION = gql`
+  subscription OnOrdersCreatedBatch($windowMs: Int, $maxSize: Int) {
+    ordersCreatedBatch(windowMs: $windowMs, maxSize: $maxSize) {
       id
       userId
       status
@@ -0,0 +1,45 @@
+package org.acme.gateway.cache;
+
+/**
+ * Message published on the invalidation channel. A {@code null} key clears the whole cache.
+ * Keys travel as strings together with their {@link KeyType}, so the receiver can rebuild
+ * the key the L1 cache holds and evict it directly; a missing type means a string key.
+ */
+public record CacheInvalidation(String origin, String cacheName, String key, KeyType keyType) {
+
+    public enum KeyType {
+        STRING, LONG, INTEGER, OTHER
+    }
+
+    static CacheInvalidation of(String origin, String cacheName, Object key) {
+        if (key == null) {
+            return new CacheInvalidation(origin, cacheName, null, null);
+        }
+        KeyType type = key instanceof String ? KeyType.STRING
+                : key instanceof Long ? KeyType.LONG
+                : key instanceof Integer ? KeyType.INTEGER
+                : KeyType.OTHER;
+        return new CacheInvalidation(origin, cacheName, key.toString(), type);
+    }
+
+    /**
+     * The key as the L1 cache stores it, or {@code null} when the message clears the whole
+     * cache or the key type cannot be rebuilt from its string form.
+     */
+    Object localKey() {
+        if (key == null) {
+            return null;
+        }
+        KeyType type = keyType == null ? KeyType.STRING : keyType;
+        try {
+            return switch (type) {
+                case STRING -> key;
+                case LONG -> Long.valueOf(key);
+                case INTEGER -> Integer.valueOf(key);
+                case OTHER -> null;
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.acme.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.cache.CacheManager;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.redis.datasource.pubsub.ReactivePubSubCommands;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the per-replica L1 caches coherent across gateway pods.
+ *
+ * {@link #invalidate(String, Object)} drops the entry from the shared Redis cache and
+ * the local L1, then publishes the key once on Redis pub/sub; every other replica
+ * evicts it from its own L1 on receipt. Uses the existing quarkus.redis.hosts connection.
+ *
+ * user-service and product-service expose no write endpoints yet, so nothing in this
+ * repository publishes for the user and product caches. A process that changes users or
+ * products can publish a {@link CacheInvalidation} JSON message (origin, cacheName, key,
+ * keyType) on the channel itself; the gateways treat it like any other remote eviction.
+ */
+@ApplicationScoped
+public class CacheInvalidationBus {
+
+    private static final Logger LOG = Logger.getLogger(CacheInvalidationBus.class);
+
+    private final String origin = UUID.randomUUID().toString();
+
+    @Inject
+    NearCacheConfig config;
+
+    @Inject
+    NearCacheManager nearCache;
+
+    @Inject
+    CacheManager cacheManager;
+
+    @Inject
+    ReactiveRedisDataSource redis;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Counter> invalidations = new ConcurrentHashMap<>();
+
+    private ReactivePubSubCommands<CacheInvalidation> pubsub;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        pubsub = redis.pubsub(CacheInvalidation.class);
+        String channel = config.invalidation().channel();
+        pubsub.subscribe(channel, this::onMessage)
+                .onFailure().invoke(e -> LOG.warnf("[CACHE] Invalidation subscribe failed: %s", e.getMessage()))
+                .onFailure().retry().withBackOff(Duration.ofSeconds(1), Duration.ofSeconds(30)).indefinitely()
+                .subscribe().with(
+                        s -> LOG.infof("[CACHE] Listening for invalidations on %s", channel),
+                        e -> LOG.errorf("[CACHE] Invalidation listener stopped: %s", e.getMessage()));
+    }
+
+    /**
+     * Evicts {@code key} from {@code cacheName} on every replica. A {@code null} key
+     * clears the whole cache.
+     */
+    public Uni<Void> invalidate(String cacheName, Object key) {
+        Uni<Void> shared = cacheManager.getCache(cacheName)
+                .map(cache -> key == null ? cache.invalidateAll() : cache.invalidate(key))
+                .orElse(Uni.createFrom().voidItem());
+        return shared
+                .invoke(() -> evictLocal(cacheName, key))
+                .chain(() -> publish(CacheInvalidation.of(origin, cacheName, key)));
+    }
+
+    /**
+     * Evicts {@code key} from this replica's L1 only, for callers that already run on
+     * every replica (such as the order-events consumer).
+     */
+    public void invalidateLocal(String cacheName, Object key) {
+        evictLocal(cacheName, key);
+    }
+
+    private Uni<Void> publish(CacheInvalidation message) {
+        if (!isEnabled()) {
+            return Uni.createFrom().voidItem();
+        }
+        return pubsub.publish(config.invalidation().channel(), message)
+                .onFailure().recoverWithItem(e -> {
+                    LOG.warnf("[CACHE] Failed to publish invalidation %s/%s: %s",
+                            message.cacheName(), message.key(), e.getMessage());
+                    return null;
+                });
+    }
+
+    void onMessage(CacheInvalidation message) {
+        if (origin.equals(message.origin())) {
+            return;
+        }
+        LOG.debugf("[CACHE] Remote invalidation %s/%s", message.cacheName(), message.key());
+        Object key = message.localKey();
+        if (key == null && message.key() != null) {
+            // A key we cannot rebuild: clearing the cache is the only safe eviction
+            LOG.debugf("[CACHE] Clearing %s for untyped key %s", message.cacheName(), message.key());
+        }
+        evictLocal(message.cacheName(), key);
+    }
+
+    /** Evicts from this replica's L1; caches this replica has never used hold nothing to evict. */
+    private void evictLocal(String cacheName, Object key) {
+        Cache<Object, Object> cache = nearCache.existingCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(key);
+        }
+        invalidations.computeIfAbsent(cacheName, name -> Counter.builder("gateway.cache.invalidations")
+                        .tag("cache", name)
+                        .register(registry))
+                .increment();
+    }
+
+    private boolean isEnabled() {
+        return nearCache.isEnabled() && config.invalidation().enabled();
+    }
+}
@@ -0,0 +1,21 @@
+package org.acme.gateway.cache;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts an in-process (L1) cache in front of the Redis-backed {@code @CacheResult} (L2)
+ * of the annotated method. The L1 cache shares the method's {@code cacheName} and keys,
+ * and concurrent misses for one key are coalesced into a single load.
+ *
+ * Only methods returning {@code Uni} are cached; anything else passes straight through.
+ */
+@InterceptorBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NearCache {
+}
@@ -0,0 +1,51 @@
+package org.acme.gateway.cache;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * L1 (in-process) cache settings, e.g.:
+ *   gateway.near-cache.caches."product-cache".ttl=30S
+ *   gateway.near-cache.caches."product-cache".maximum-size=10000
+ *
+ * TTLs should stay below the matching quarkus.cache.redis."...".ttl so the
+ * local copy never outlives the shared one. Cross-replica evictions travel over
+ * Redis pub/sub on gateway.near-cache.invalidation.channel.
+ */
+@ConfigMapping(prefix = "gateway.near-cache")
+public interface NearCacheConfig {
+
+    @WithDefault("true")
+    boolean enabled();
+
+    @WithDefault("30S")
+    Duration defaultTtl();
+
+    @WithDefault("1000")
+    long defaultMaximumSize();
+
+    Map<String, CacheSpec> caches();
+
+    Invalidation invalidation();
+
+    interface CacheSpec {
+
+        Optional<Duration> ttl();
+
+        OptionalLong maximumSize();
+    }
+
+    interface Invalidation {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithDefault("gateway:cache-invalidation")
+        String channel();
+    }
+}
@@ -0,0 +1,105 @@
+package org.acme.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.quarkus.cache.CacheKey;
+import io.quarkus.cache.CacheResult;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * L1 lookup for {@link NearCache} methods. Runs just outside the {@code @CacheResult}
+ * interceptor (priority 2), so an L1 hit never touches Redis; an L1 miss falls through
+ * to Redis and the value it yields is kept locally.
+ *
+ * Concurrent misses for the same key are coalesced through {@link SingleFlight}, so a
+ * cold key or an expiry under load produces one Redis lookup and at most one downstream
+ * call. Whether Redis answered or the method itself ran is reported by
+ * {@link NearCacheLoadInterceptor}, which sits inside {@code @CacheResult}.
+ */
+@NearCache
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 1)
+public class NearCacheInterceptor {
+
+    static final String LOADED = NearCacheInterceptor.class.getName() + ".loaded";
+
+    private static final Object DEFAULT_KEY = "default";
+
+    @Inject
+    NearCacheManager manager;
+
+    @AroundInvoke
+    @SuppressWarnings("unchecked")
+    Object intercept(InvocationContext ctx) throws Exception {
+        Method method = ctx.getMethod();
+        CacheResult cacheResult = method.getAnnotation(CacheResult.class);
+        if (cacheResult == null || !Uni.class.equals(method.getReturnType())) {
+            return ctx.proceed();
+        }
+
+        String cacheName = cacheResult.cacheName();
+        Object key = cacheKey(ctx);
+        Cache<Object, Object> l1 = manager.isEnabled() ? manager.cache(cacheName) : null;
+
+        if (l1 != null) {
+            Object cached = l1.getIfPresent(key);
+            manager.recordGet(cacheName, NearCacheManager.TIER_L1, cached != null);
+            if (cached != null) {
+                return Uni.createFrom().item(cached);
+            }
+        }
+
+        // Concurrent misses for the same key share one Redis lookup / downstream call
+        return manager.flight(cacheName).load(key, () -> {
+            AtomicBoolean loaded = new AtomicBoolean();
+            ctx.getContextData().put(LOADED, loaded);
+            Uni<Object> load;
+            try {
+                load = (Uni<Object>) ctx.proceed();
+            } catch (Exception e) {
+                return Uni.createFrom().failure(e);
+            }
+            return load.onItem().invoke(value -> {
+                if (l1 == null) {
+                    return;
+                }
+                manager.recordGet(cacheName, NearCacheManager.TIER_L2, !loaded.get());
+                if (value != null) {
+                    l1.put(key, value);
+                }
+            });
+        });
+    }
+
+    /**
+     * Mirrors the Quarkus cache key rules: the {@link CacheKey} parameters if any are
+     * annotated, otherwise all parameters; a single key element is used as-is.
+     */
+    static Object cacheKey(InvocationContext ctx) {
+        Object[] params = ctx.getParameters();
+        Annotation[][] annotations = ctx.getMethod().getParameterAnnotations();
+        List<Object> keyed = new ArrayList<>();
+        for (int i = 0; i < params.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof CacheKey) {
+                    keyed.add(params[i]);
+                }
+            }
+        }
+        List<Object> elements = keyed.isEmpty() ? List.of(params) : keyed;
+        if (elements.isEmpty()) {
+            return DEFAULT_KEY;
+        }
+        return elements.size() == 1 ? elements.get(0) : elements;
+    }
+}
@@ -0,0 +1,28 @@
+package org.acme.gateway.cache;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Inner half of {@link NearCache}: sits just inside the {@code @CacheResult} interceptor,
+ * so it only runs when Redis missed and the method body is about to be invoked.
+ * Flags the invocation so {@link NearCacheInterceptor} can count an L2 miss.
+ */
+@NearCache
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 3)
+public class NearCacheLoadInterceptor {
+
+    @AroundInvoke
+    Object markLoaded(InvocationContext ctx) throws Exception {
+        Object loaded = ctx.getContextData().get(NearCacheInterceptor.LOADED);
+        if (loaded instanceof AtomicBoolean flag) {
+            flag.set(true);
+        }
+        return ctx.proceed();
+    }
+}
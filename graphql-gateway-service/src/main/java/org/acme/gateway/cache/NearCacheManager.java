@@ -0,0 +1,175 @@
+package org.acme.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Owns the L1 (Caffeine) caches and the per-tier hit/miss counters.
+ *
+ * Metrics (one series per cache):
+ *   gateway.cache.gets{cache, tier=l1|l2, result=hit|miss}
+ *   gateway.cache.size{cache, tier=l1}
+ *   gateway.cache.coalesced{cache}  (callers that joined an in-flight load)
+ */
+@ApplicationScoped
+public class NearCacheManager {
+
+    private static final Logger LOG = Logger.getLogger(NearCacheManager.class);
+
+    public static final String TIER_L1 = "l1";
+    public static final String TIER_L2 = "l2";
+
+    @Inject
+    NearCacheConfig config;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final Map<String, GetCounters> getCounters = new ConcurrentHashMap<>();
+    private final Map<String, SingleFlight<Object, Object>> flights = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    public Cache<Object, Object> cache(String cacheName) {
+        return caches.computeIfAbsent(cacheName, this::create);
+    }
+
+    /**
+     * The L1 cache for {@code cacheName} if this replica has created it, else {@code null}.
+     * Unlike {@link #cache(String)} it never creates one.
+     */
+    public Cache<Object, Object> existingCache(String cacheName) {
+        return caches.get(cacheName);
+    }
+
+    /**
+     * Per-cache single-flight group, so concurrent misses for one key share a single load.
+     */
+    public SingleFlight<Object, Object> flight(String cacheName) {
+        return flights.computeIfAbsent(cacheName, name -> {
+            SingleFlight<Object, Object> flight = new SingleFlight<>();
+            FunctionCounter.builder("gateway.cache.coalesced", flight, SingleFlight::joinedCount)
+                    .tag("cache", name)
+                    .register(registry);
+            return flight;
+        });
+    }
+
+    /**
+     * Per-key L1 lookup for batch field resolvers: keys already held locally are served
+     * from {@code cacheName}, only the rest go to {@code loader} in one call, and the
+     * non-null values it returns are kept. Keys missing from the result stay uncached.
+     */
+    public <K, V> Uni<Map<K, V>> getAll(String cacheName, Collection<K> keys,
+                                        Function<List<K>, Uni<Map<K, V>>> loader) {
+        if (!isEnabled()) {
+            return loader.apply(new ArrayList<>(keys));
+        }
+
+        Cache<Object, Object> cache = cache(cacheName);
+        Map<K, V> found = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        for (K key : keys) {
+            @SuppressWarnings("unchecked")
+            V value = (V) cache.getIfPresent(key);
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+        GetCounters counters = getCounters.get(cacheName);
+        counters.l1Hit().increment(found.size());
+        counters.l1Miss().increment(missing.size());
+
+        if (missing.isEmpty()) {
+            return Uni.createFrom().item(found);
+        }
+        return loader.apply(missing)
+                .onItem().transform(loaded -> {
+                    loaded.forEach((key, value) -> {
+                        if (value != null) {
+                            cache.put(key, value);
+                            found.put(key, value);
+                        }
+                    });
+                    return found;
+                });
+    }
+
+    /**
+     * Counts a lookup of {@code cacheName}, which must already have been created through
+     * {@link #cache(String)}; the counters are registered with the cache.
+     */
+    public void recordGet(String cacheName, String tier, boolean hit) {
+        getCounters.get(cacheName).of(tier, hit).increment();
+    }
+
+    private Counter gets(String cacheName, String tier, boolean hit) {
+        return Counter.builder("gateway.cache.gets")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry);
+    }
+
+    private Cache<Object, Object> create(String cacheName) {
+        Optional<NearCacheConfig.CacheSpec> spec = Optional.ofNullable(config.caches().get(cacheName));
+        Duration ttl = spec.flatMap(NearCacheConfig.CacheSpec::ttl).orElse(config.defaultTtl());
+        long maximumSize = spec.map(s -> s.maximumSize().orElse(config.defaultMaximumSize()))
+                .orElse(config.defaultMaximumSize());
+
+        ConfigProvider.getConfig()
+                .getOptionalValue("quarkus.cache.redis.\"" + cacheName + "\".ttl", Duration.class)
+                .filter(redisTtl -> ttl.compareTo(redisTtl) >= 0)
+                .ifPresent(redisTtl -> LOG.warnf(
+                        "[CACHE] L1 TTL %s for %s is not shorter than its Redis TTL %s", ttl, cacheName, redisTtl));
+
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+        Gauge.builder("gateway.cache.size", cache, Cache::estimatedSize)
+                .tag("cache", cacheName)
+                .tag("tier", TIER_L1)
+                .register(registry);
+        getCounters.put(cacheName, new GetCounters(
+                gets(cacheName, TIER_L1, true), gets(cacheName, TIER_L1, false),
+                gets(cacheName, TIER_L2, true), gets(cacheName, TIER_L2, false)));
+        LOG.debugf("[CACHE] L1 %s created (ttl=%s, maximumSize=%d)", cacheName, ttl, maximumSize);
+        return cache;
+    }
+
+    /** The gateway.cache.gets series of one cache, registered once when the cache is created. */
+    private record GetCounters(Counter l1Hit, Counter l1Miss, Counter l2Hit, Counter l2Miss) {
+
+        Counter of(String tier, boolean hit) {
+            if (TIER_L1.equals(tier)) {
+                return hit ? l1Hit : l1Miss;
+            }
+            return hit ? l2Hit : l2Miss;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.acme.gateway.cache;
+
+import io.smallrye.mutiny.Uni;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: while a load is in flight every caller
+ * for that key gets the same memoized {@link Uni}, so only one downstream call is made.
+ * The entry is dropped as soon as the load terminates, so nothing is cached here.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Uni<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder joined = new LongAdder();
+
+    /**
+     * Returns the in-flight load for {@code key}, or starts one with {@code loader}.
+     * The loader is called at most once per flight and only assembles the {@link Uni};
+     * the load itself runs when the first caller subscribes.
+     */
+    public Uni<V> load(K key, Supplier<Uni<V>> loader) {
+        AtomicReference<Uni<V>> started = new AtomicReference<>();
+        Uni<V> shared = inFlight.computeIfAbsent(key, k -> {
+            Uni<V> uni = loader.get()
+                    .onTermination().invoke(() -> inFlight.remove(k, started.get()))
+                    .memoize().indefinitely();
+            started.set(uni);
+            return uni;
+        });
+        if (started.get() == null) {
+            joined.increment();
+        }
+        return shared;
+    }
+
+    /**
+     * Number of callers that joined a load started by someone else.
+     */
+    public long joinedCount() {
+        return joined.sum();
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+}
@@ -1,15 +1,21 @@
 package org.acme.gateway.client;
 
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import org.acme.gateway.dto.downstream.CreateOrderRequest;
 import org.acme.gateway.dto.downstream.OrderResponse;
+import org.acme.gateway.dto.downstream.PageResponse;
+import org.acme.gateway.metrics.Measured;
 import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * MicroProfile REST Client for the Order microservice.
@@ -21,12 +27,30 @@ import java.util.List;
 @RegisterRestClient(configKey = "order-api")
 @RegisterProvider(AuthHeaderPropagationFilter.class)
 @Produces(MediaType.APPLICATION_JSON)
+@Measured(service = "order-service")
 @Timeout(4000)
 public interface OrderClient {
 
     @GET
     Uni<List<OrderResponse>> getAll();
 
+    /**
+     * Keyset page in id order, starting after {@code after} (exclusive, {@code null} for the first page).
+     */
+    @GET
+    @Path("/page")
+    Uni<PageResponse<OrderResponse>> getPage(@QueryParam("after") Long after, @QueryParam("limit") int limit);
+
+    /**
+     * Every order as NDJSON; items are emitted as lines arrive instead of after the
+     * whole table has been buffered into one JSON array.
+     */
+    @GET
+    @Path("/stream")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    Multi<OrderResponse> streamAll();
+
     @GET
     @Path("/{id}")
     Uni<OrderResponse> getById(@PathParam("id") Long id);
@@ -35,6 +59,14 @@ public interface OrderClient {
     @Path("/user/{userId}")
     Uni<List<OrderResponse>> getByUserId(@PathParam("userId") Long userId);
 
+    /**
+     * Bulk lookup: the orders of every given user in one request, grouped by userId.
+     * Users without orders map to an empty list.
+     */
+    @GET
+    @Path("/users")
+    Uni<Map<Long, List<OrderResponse>>> getByUserIds(@QueryParam("ids") List<Long> userIds);
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     Uni<OrderResponse> create(CreateOrderRequest request);
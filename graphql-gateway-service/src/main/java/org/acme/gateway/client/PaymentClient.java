@@ -5,12 +5,16 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import org.acme.gateway.dto.downstream.PaymentResponse;
+import org.acme.gateway.metrics.Measured;
 import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
+import java.util.List;
+
 /**
  * MicroProfile REST Client for the Payment microservice.
  *
@@ -21,10 +25,18 @@ import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 @RegisterRestClient(configKey = "payment-api")
 @RegisterProvider(AuthHeaderPropagationFilter.class)
 @Produces(MediaType.APPLICATION_JSON)
+@Measured(service = "payment-service")
 @Timeout(4000)
 public interface PaymentClient {
 
     @GET
     @Path("/order/{orderId}")
     Uni<PaymentResponse> getByOrderId(@PathParam("orderId") Long orderId);
+
+    /**
+     * Bulk lookup: one request, one query on the Payment-Service side.
+     * Results follow the order of {@code orderIds}; orders without a payment come back as null entries.
+     */
+    @GET
+    Uni<List<PaymentResponse>> getByOrderIds(@QueryParam("orderIds") List<Long> orderIds);
 }
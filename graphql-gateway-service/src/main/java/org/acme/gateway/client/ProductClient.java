@@ -5,8 +5,11 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import org.acme.gateway.dto.downstream.PageResponse;
 import org.acme.gateway.dto.downstream.ProductResponse;
+import org.acme.gateway.metrics.Measured;
 import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
@@ -23,6 +26,7 @@ import java.util.List;
 @RegisterRestClient(configKey = "product-api")
 @RegisterProvider(AuthHeaderPropagationFilter.class)
 @Produces(MediaType.APPLICATION_JSON)
+@Measured(service = "product-service")
 @Timeout(4000)
 public interface ProductClient {
 
@@ -32,4 +36,18 @@ public interface ProductClient {
     @GET
     @Path("/{id}")
     Uni<ProductResponse> getById(@PathParam("id") Long id);
+
+    /**
+     * Keyset page in id order, starting after {@code after} (exclusive, {@code null} for the first page).
+     */
+    @GET
+    @Path("/page")
+    Uni<PageResponse<ProductResponse>> getPage(@QueryParam("after") Long after, @QueryParam("limit") int limit);
+
+    /**
+     * Bulk lookup: one request, one IN (...) query on the Product-Service side.
+     * Results follow the order of {@code ids}; unknown ids come back as null entries.
+     */
+    @GET
+    Uni<List<ProductResponse>> getByIds(@QueryParam("ids") List<Long> ids);
 }
@@ -5,8 +5,11 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import org.acme.gateway.dto.downstream.PageResponse;
 import org.acme.gateway.dto.downstream.UserResponse;
+import org.acme.gateway.metrics.Measured;
 import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
@@ -24,12 +27,20 @@ import java.util.List;
 @RegisterRestClient(configKey = "user-api")
 @RegisterProvider(AuthHeaderPropagationFilter.class)
 @Produces(MediaType.APPLICATION_JSON)
+@Measured(service = "user-service")
 @Timeout(4000)
 public interface UserClient {
 
     @GET
     Uni<List<UserResponse>> getAll();
 
+    /**
+     * Keyset page in id order, starting after {@code after} (exclusive, {@code null} for the first page).
+     */
+    @GET
+    @Path("/page")
+    Uni<PageResponse<UserResponse>> getPage(@QueryParam("after") Long after, @QueryParam("limit") int limit);
+
     @GET
     @Path("/{id}")
     Uni<UserResponse> getById(@PathParam("id") Long id);
@@ -0,0 +1,13 @@
+package org.acme.gateway.dto.downstream;
+
+import java.util.List;
+
+/**
+ * DTO matching the keyset page returned by the downstream {@code /page} endpoints:
+ * items ordered by id, and whether another page follows the last one.
+ */
+public class PageResponse<T> {
+
+    public List<T> items;
+    public boolean hasNext;
+}
@@ -0,0 +1,18 @@
+package org.acme.gateway.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consumer-side copy of order-service's OrderCreatedEvent, as published on order-events.
+ */
+public class OrderCreatedEvent {
+
+    public Long orderId;
+    public Long userId;
+    public BigDecimal totalAmount;
+    public String status;
+    public LocalDateTime createdAt;
+    public List<Long> productIds;
+}
@@ -0,0 +1,10 @@
+package org.acme.gateway.event;
+
+import io.quarkus.kafka.client.serialization.ObjectMapperDeserializer;
+
+public class OrderCreatedEventDeserializer extends ObjectMapperDeserializer<OrderCreatedEvent> {
+
+    public OrderCreatedEventDeserializer() {
+        super(OrderCreatedEvent.class);
+    }
+}
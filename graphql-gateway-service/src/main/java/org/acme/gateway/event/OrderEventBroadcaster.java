@@ -1,24 +1,297 @@
 package org.acme.gateway.event;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.Multi;
-import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.gateway.graphql.GraphQLConfig;
+import org.acme.gateway.graphql.GraphQLConfig.Subscriptions.Overflow;
 import org.acme.gateway.model.Order;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Fans new orders out to orderCreated subscribers.
+ *
+ * Subscribers are indexed by their {@link Filter} (userId and/or status, either may be
+ * a wildcard). An order is looked up under the four filters it can match, so dispatch
+ * costs O(matching subscribers) rather than O(all subscribers).
+ *
+ * Every subscriber owns a bounded queue (gateway.graphql.subscriptions.buffer-size) that
+ * is drained only as fast as that subscriber requests. {@link #broadcast(Order)} never
+ * waits on a subscriber: when a queue is full the configured overflow policy drops,
+ * conflates or disconnects, so a slow WebSocket client only ever hurts itself. Queues
+ * are drained on Mutiny's default executor, never on the thread that broadcasts (the
+ * Kafka consumer), so GraphQL serialization and WebSocket writes cannot stall polling.
+ */
 @ApplicationScoped
 public class OrderEventBroadcaster {
 
     private static final Logger LOG = Logger.getLogger(OrderEventBroadcaster.class);
 
-    private final BroadcastProcessor<Order> processor = BroadcastProcessor.create();
+    private static final String SUBSCRIPTION = "orderCreated";
+
+    private static final String BATCH_SUBSCRIPTION = "ordersCreatedBatch";
+
+    @Inject
+    GraphQLConfig config;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<Filter, Set<SubscriberQueue>> index = new ConcurrentHashMap<>();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    /** Runs the per-subscriber drain loops. */
+    Executor delivery = Infrastructure.getDefaultExecutor();
+
+    private Counter dropped;
+
+    private Counter disconnected;
+
+    private Counter droppedFromBatches;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("gateway.subscriptions.active", active, AtomicInteger::get)
+                .description("Open subscriptions")
+                .tag("subscription", SUBSCRIPTION)
+                .register(registry);
+        Gauge.builder("gateway.subscriptions.queue.depth", this, OrderEventBroadcaster::queuedEvents)
+                .description("Events buffered for subscribers that have not requested them yet")
+                .tag("subscription", SUBSCRIPTION)
+                .register(registry);
+        dropped = Counter.builder("gateway.subscriptions.dropped")
+                .description("Events discarded because a subscriber's queue was full")
+                .tag("subscription", SUBSCRIPTION)
+                .tag("policy", config.subscriptions().overflow().name())
+                .register(registry);
+        disconnected = Counter.builder("gateway.subscriptions.disconnected")
+                .description("Subscriptions terminated for falling too far behind")
+                .tag("subscription", SUBSCRIPTION)
+                .register(registry);
+        droppedFromBatches = Counter.builder("gateway.subscriptions.dropped")
+                .description("Events discarded because a subscriber's queue was full")
+                .tag("subscription", BATCH_SUBSCRIPTION)
+                .tag("policy", "DROP_BATCH")
+                .register(registry);
+    }
 
     public void broadcast(Order order) {
-        LOG.infof("[SUBSCRIPTION] Broadcasting new order id=%d", order.getId());
-        processor.onNext(order);
+        String status = normalize(order.getStatus());
+        int delivered = 0;
+        for (Filter filter : Filter.matching(order.getUserId(), status)) {
+            Set<SubscriberQueue> bucket = index.get(filter);
+            if (bucket != null) {
+                for (SubscriberQueue subscriber : bucket) {
+                    subscriber.offer(order);
+                    delivered++;
+                }
+            }
+        }
+        LOG.debugf("[SUBSCRIPTION] Broadcasting new order id=%d to %d of %d subscribers",
+                order.getId(), Integer.valueOf(delivered), Integer.valueOf(active.get()));
+    }
+
+    /** Orders matching both arguments; {@code null} matches any value. */
+    public Multi<Order> stream(Long userId, String status) {
+        Filter filter = new Filter(userId, normalize(status));
+        return Multi.createFrom().publisher(downstream -> {
+            SubscriberQueue queue = new SubscriberQueue(filter, downstream,
+                    config.subscriptions().bufferSize(), config.subscriptions().overflow());
+            index.compute(filter, (key, bucket) -> {
+                Set<SubscriberQueue> subscribers = bucket != null ? bucket : ConcurrentHashMap.newKeySet();
+                subscribers.add(queue);
+                return subscribers;
+            });
+            active.incrementAndGet();
+            downstream.onSubscribe(queue);
+        });
+    }
+
+    /**
+     * Same orders as {@link #stream(Long, String)}, grouped into lists of at most
+     * {@code maxSize} and flushed every {@code window} (empty windows send nothing), so a
+     * dashboard gets one frame per batch instead of one per order. A batch the client is
+     * not ready for is dropped whole and counted.
+     */
+    public Multi<List<Order>> batches(Long userId, String status, int maxSize, Duration window) {
+        return stream(userId, status)
+                .group().intoLists().of(maxSize, window)
+                .onOverflow().invoke(batch -> droppedFromBatches.increment(batch.size())).drop();
     }
 
-    public Multi<Order> stream() {
-        return processor;
+    long queuedEvents() {
+        long total = 0;
+        for (Set<SubscriberQueue> bucket : index.values()) {
+            for (SubscriberQueue subscriber : bucket) {
+                total += subscriber.size();
+            }
+        }
+        return total;
+    }
+
+    private void unregister(SubscriberQueue queue) {
+        index.computeIfPresent(queue.filter, (key, bucket) -> {
+            if (bucket.remove(queue)) {
+                active.decrementAndGet();
+            }
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private static String normalize(String status) {
+        return status == null || status.isBlank() ? null : status.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /** Index key of a subscription; a {@code null} component is a wildcard. */
+    record Filter(Long userId, String status) {
+
+        /** The distinct filters an order with this userId and status satisfies. */
+        static List<Filter> matching(Long userId, String status) {
+            return Stream.of(
+                            new Filter(userId, status),
+                            new Filter(userId, null),
+                            new Filter(null, status),
+                            new Filter(null, null))
+                    .distinct()
+                    .toList();
+        }
+    }
+
+    /**
+     * One subscriber's bounded buffer and demand. Offers may come from any thread and
+     * only enqueue; a single drain loop (guarded by {@code wip}) runs on {@link #delivery}
+     * and delivers to the subscriber in order.
+     */
+    final class SubscriberQueue implements Flow.Subscription {
+
+        private final Filter filter;
+        private final Flow.Subscriber<? super Order> downstream;
+        private final int capacity;
+        private final Overflow overflow;
+        private final ArrayDeque<Order> queue;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean overflowed;
+
+        SubscriberQueue(Filter filter, Flow.Subscriber<? super Order> downstream, int capacity, Overflow overflow) {
+            this.filter = filter;
+            this.downstream = downstream;
+            this.capacity = Math.max(capacity, 1);
+            this.overflow = overflow;
+            this.queue = new ArrayDeque<>(Math.min(this.capacity, 64));
+        }
+
+        void offer(Order order) {
+            if (cancelled || overflowed) {
+                return;
+            }
+            synchronized (queue) {
+                if (queue.size() >= capacity) {
+                    switch (overflow) {
+                        case DROP_OLDEST -> {
+                            queue.pollFirst();
+                            dropped.increment();
+                        }
+                        case CONFLATE -> {
+                            dropped.increment(queue.size());
+                            queue.clear();
+                        }
+                        case DISCONNECT -> overflowed = true;
+                    }
+                }
+                if (!overflowed) {
+                    queue.offerLast(order);
+                }
+            }
+            drain();
+        }
+
+        int size() {
+            synchronized (queue) {
+                return queue.size();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Invalid request: " + n + " (must be > 0)"));
+                return;
+            }
+            Subscriptions.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            unregister(this);
+            synchronized (queue) {
+                queue.clear();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                delivery.execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    return;
+                }
+                if (overflowed) {
+                    cancel();
+                    disconnected.increment();
+                    LOG.warnf("[SUBSCRIPTION] Disconnecting %s subscriber: more than %d events queued",
+                            SUBSCRIPTION, capacity);
+                    downstream.onError(new IllegalStateException(
+                            "Subscriber too slow: more than " + capacity + " " + SUBSCRIPTION + " events queued"));
+                    return;
+                }
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    Order next;
+                    synchronized (queue) {
+                        next = queue.pollFirst();
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    downstream.onNext(next);
+                    emitted++;
+                }
+                if (emitted != 0) {
+                    Subscriptions.produced(requested, emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
     }
 }
@@ -0,0 +1,47 @@
+package org.acme.gateway.event;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.gateway.cache.CacheInvalidationBus;
+import org.acme.gateway.model.Order;
+import org.acme.gateway.resource.OrderResolver;
+import org.acme.gateway.resource.UserResolver;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.jboss.logging.Logger;
+
+/**
+ * Feeds the orderCreated subscription from the order-events topic, so every gateway
+ * replica sees every order, whichever replica (or client) created it.
+ *
+ * Each replica joins its own consumer group (see {@code mp.messaging.incoming.order-events}),
+ * starts at the latest offset and never commits: the topic is fanned out to all replicas
+ * instead of being split between them, and a restarted pod only streams new orders.
+ */
+@ApplicationScoped
+public class OrderEventConsumer {
+
+    private static final Logger LOG = Logger.getLogger(OrderEventConsumer.class);
+
+    @Inject
+    OrderEventBroadcaster broadcaster;
+
+    @Inject
+    CacheInvalidationBus cacheInvalidationBus;
+
+    @Incoming("order-events")
+    public Uni<Void> onOrderCreated(OrderCreatedEvent event) {
+        if (event == null || event.orderId == null) {
+            return Uni.createFrom().voidItem();
+        }
+        LOG.debugf("[KAFKA] OrderCreatedEvent orderId=%d userId=%d", event.orderId, event.userId);
+        Order order = new Order(event.orderId, event.userId, event.status, event.totalAmount,
+                event.createdAt, event.productIds);
+        broadcaster.broadcast(order);
+
+        // Every replica receives the event, so each evicts its own L1 only
+        cacheInvalidationBus.invalidateLocal(UserResolver.USER_ORDERS_CACHE, event.userId);
+        cacheInvalidationBus.invalidateLocal(OrderResolver.ORDER_PAYMENT_CACHE, event.orderId);
+        return Uni.createFrom().voidItem();
+    }
+}
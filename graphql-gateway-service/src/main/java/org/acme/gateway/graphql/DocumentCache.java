@@ -0,0 +1,71 @@
+package org.acme.gateway.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.smallrye.graphql.execution.QueryCache;
+import io.smallrye.graphql.execution.context.SmallRyeContext;
+import io.smallrye.graphql.execution.context.SmallRyeContextManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU of parsed + validated documents, keyed by query text.
+ * Only documents that validated cleanly are kept, so junk queries cannot fill it.
+ *
+ * Metrics (standard Micrometer cache binder, cache="graphql-documents"):
+ *   cache.gets{result=hit|miss}, cache.size, cache.evictions
+ *
+ * Misses go through SmallRye's own QueryCache rather than parsing directly: SmallRye
+ * looks the document up there for every request to work out the operation type, and
+ * that lookup only hits if the QueryCache saw the validation.
+ */
+public class DocumentCache implements PreparsedDocumentProvider {
+
+    static final String CACHE_NAME = "graphql-documents";
+
+    private final Cache<String, PreparsedDocumentEntry> cache;
+
+    public DocumentCache(long maximumSize, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry cached = cache.getIfPresent(query);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return parseAndValidate(executionInput, parseAndValidateFunction)
+                .thenApply(entry -> {
+                    if (!entry.hasErrors()) {
+                        cache.put(query, entry);
+                    }
+                    return entry;
+                });
+    }
+
+    static CompletableFuture<PreparsedDocumentEntry> parseAndValidate(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        SmallRyeContext context = SmallRyeContextManager.getCurrentSmallRyeContext();
+        QueryCache queryCache = context != null ? context.getQueryCache() : null;
+        if (queryCache != null) {
+            return queryCache.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        return CompletableFuture.completedFuture(parseAndValidateFunction.apply(executionInput));
+    }
+}
@@ -0,0 +1,93 @@
+package org.acme.gateway.graphql;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Gateway-side tuning of the GraphQL engine, applied when SmallRye GraphQL builds it
+ * (requires quarkus.smallrye-graphql.events.enabled=true).
+ */
+@ConfigMapping(prefix = "gateway.graphql")
+public interface GraphQLConfig {
+
+    DocumentCache documentCache();
+
+    Cost cost();
+
+    Subscriptions subscriptions();
+
+    interface DocumentCache {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        /** Distinct query texts kept parsed and validated. */
+        @WithDefault("500")
+        long maximumSize();
+    }
+
+    /**
+     * Static query cost, checked before execution:
+     *   cost(field) = multiplier × (weight + cost of its selections)
+     * where multiplier is the field's {@code first} argument if given, the configured
+     * list size for list-typed fields, and 1 otherwise. Per-field overrides are keyed
+     * by "Type.field", e.g. gateway.graphql.cost.fields."Order.products".list-size=5
+     */
+    interface Cost {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithDefault("1000")
+        int maxCost();
+
+        @WithDefault("8")
+        int maxDepth();
+
+        /** Weight of a field that selects an object (i.e. needs a resolver). */
+        @WithDefault("1")
+        int defaultWeight();
+
+        @WithDefault("0")
+        int scalarWeight();
+
+        /** Assumed size of a list field with no override. */
+        @WithDefault("10")
+        int defaultListSize();
+
+        Map<String, FieldCost> fields();
+
+        interface FieldCost {
+
+            OptionalInt weight();
+
+            OptionalInt listSize();
+        }
+    }
+
+    /**
+     * Per-subscriber buffering for GraphQL subscriptions. Each subscriber gets its own
+     * bounded queue, so a slow WebSocket client never holds up the publisher or the
+     * other subscribers; {@link #overflow()} decides what happens when it fills up.
+     */
+    interface Subscriptions {
+
+        @WithDefault("256")
+        int bufferSize();
+
+        @WithDefault("drop-oldest")
+        Overflow overflow();
+
+        enum Overflow {
+            /** Evict the oldest queued event to make room for the new one. */
+            DROP_OLDEST,
+            /** Discard the whole backlog and keep only the newest event: the client skips ahead. */
+            CONFLATE,
+            /** Terminate the subscription with an error; the client has to resubscribe. */
+            DISCONNECT
+        }
+    }
+}
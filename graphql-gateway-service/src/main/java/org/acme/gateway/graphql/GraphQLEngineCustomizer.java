@@ -0,0 +1,56 @@
+package org.acme.gateway.graphql;
+
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * Hooks into SmallRye GraphQL right before it builds the graphql-java engine.
+ */
+@ApplicationScoped
+public class GraphQLEngineCustomizer {
+
+    private static final Logger LOG = Logger.getLogger(GraphQLEngineCustomizer.class);
+
+    @Inject
+    GraphQLConfig config;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    GraphQLSchema schema;
+
+    private DocumentCache documentCache;
+
+    void customize(@Observes GraphQL.Builder builder) {
+        PreparsedDocumentProvider provider = null;
+        if (config.documentCache().enabled()) {
+            provider = documentCache();
+            LOG.infof("[GRAPHQL] Document cache enabled (maximumSize=%d)", config.documentCache().maximumSize());
+        }
+        if (config.cost().enabled()) {
+            // Cost is checked per request on top of the (cached) validated document
+            PreparsedDocumentProvider delegate = provider != null ? provider : DocumentCache::parseAndValidate;
+            provider = new QueryCostGuard(delegate, schema, config.cost(), registry);
+            LOG.infof("[GRAPHQL] Query cost limits enabled (maxCost=%d, maxDepth=%d)",
+                    config.cost().maxCost(), config.cost().maxDepth());
+        }
+        if (provider != null) {
+            builder.preparsedDocumentProvider(provider);
+        }
+    }
+
+    // The engine is rebuilt on schema changes (dev mode); keep one cache and one set of meters
+    private synchronized DocumentCache documentCache() {
+        if (documentCache == null) {
+            documentCache = new DocumentCache(config.documentCache().maximumSize(), registry);
+        }
+        return documentCache;
+    }
+}
@@ -0,0 +1,31 @@
+package org.acme.gateway.graphql;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+/**
+ * Automatic Persisted Queries (APQ) settings. The registry lives in Redis so every
+ * gateway replica can resolve a hash registered through any other one.
+ */
+@ConfigMapping(prefix = "gateway.apq")
+public interface PersistedQueryConfig {
+
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * How long a registered query survives in Redis without being used. Redis reads reset
+     * it; hits served from the local LRU do not.
+     */
+    @WithDefault("24H")
+    Duration ttl();
+
+    /** Per-replica LRU in front of Redis. */
+    @WithDefault("1000")
+    long localMaximumSize();
+
+    @WithDefault("gateway:apq:")
+    String keyPrefix();
+}
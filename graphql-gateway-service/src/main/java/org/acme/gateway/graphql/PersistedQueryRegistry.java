@@ -0,0 +1,80 @@
+package org.acme.gateway.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.redis.datasource.value.GetExArgs;
+import io.quarkus.redis.datasource.value.ReactiveValueCommands;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hash → query text registry for APQ: a local LRU backed by Redis (SETEX with the
+ * configured TTL, refreshed by GETEX on every Redis read). A Redis outage degrades to
+ * local-only lookups rather than failing.
+ */
+@ApplicationScoped
+public class PersistedQueryRegistry {
+
+    private static final Logger LOG = Logger.getLogger(PersistedQueryRegistry.class);
+
+    @Inject
+    PersistedQueryConfig config;
+
+    @Inject
+    ReactiveRedisDataSource redis;
+
+    private Cache<String, String> local;
+    private ReactiveValueCommands<String, String> values;
+
+    @PostConstruct
+    void init() {
+        local = Caffeine.newBuilder()
+                .maximumSize(config.localMaximumSize())
+                .build();
+        values = redis.value(String.class);
+    }
+
+    /**
+     * Emits the query registered under {@code hash}, or {@code null} if unknown.
+     */
+    public Uni<String> lookup(String hash) {
+        String query = local.getIfPresent(hash);
+        if (query != null) {
+            return Uni.createFrom().item(query);
+        }
+        return values.getex(config.keyPrefix() + hash, new GetExArgs().ex(config.ttl()))
+                .onItem().ifNotNull().invoke(q -> local.put(hash, q))
+                .onFailure().recoverWithItem(e -> {
+                    LOG.warnf("[APQ] Redis lookup failed for %s: %s", hash, e.getMessage());
+                    return null;
+                });
+    }
+
+    public Uni<Void> register(String hash, String query) {
+        local.put(hash, query);
+        return values.setex(config.keyPrefix() + hash, config.ttl().toSeconds(), query)
+                .onFailure().recoverWithItem(e -> {
+                    LOG.warnf("[APQ] Redis register failed for %s: %s", hash, e.getMessage());
+                    return null;
+                });
+    }
+
+    public static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.acme.gateway.graphql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Automatic Persisted Queries, following the Apollo protocol.
+ *
+ * Runs ahead of the SmallRye GraphQL route on POST /graphql:
+ *   hash only, known   → the stored query text is added as the query parameter and the request continues
+ *   hash only, unknown → PERSISTED_QUERY_NOT_FOUND, the client retries with the full text
+ *   hash + query       → the hash is verified, the query registered, and the request continues
+ *
+ * SmallRye GraphQL merges a {@code query} URL parameter over the JSON body of a POST, so a
+ * restored query reaches it without rewriting the body; variables, operationName and
+ * extensions still come from the body. Parse/validate results for the restored text are
+ * then served from the document cache.
+ */
+@ApplicationScoped
+public class PersistedQueryRoute {
+
+    private static final Logger LOG = Logger.getLogger(PersistedQueryRoute.class);
+
+    @Inject
+    PersistedQueryConfig config;
+
+    @Inject
+    PersistedQueryRegistry registry;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "quarkus.smallrye-graphql.root-path", defaultValue = "graphql")
+    String rootPath;
+
+    @ConfigProperty(name = "quarkus.http.limits.max-body-size", defaultValue = "10240K")
+    MemorySize maxBodySize;
+
+    void register(@Observes Router router) {
+        if (!config.enabled()) {
+            return;
+        }
+        String path = rootPath.startsWith("/") ? rootPath : "/" + rootPath;
+        router.route(HttpMethod.POST, path)
+                .order(-1)
+                .handler(BodyHandler.create(false).setBodyLimit(maxBodySize.asLongValue()))
+                .handler(this::handle);
+        LOG.infof("[APQ] Persisted queries enabled on %s", path);
+    }
+
+    void handle(RoutingContext ctx) {
+        JsonObject body;
+        JsonObject persisted;
+        try {
+            body = ctx.body().asJsonObject();
+            persisted = body == null ? null
+                    : body.getJsonObject("extensions", new JsonObject()).getJsonObject("persistedQuery");
+        } catch (DecodeException | ClassCastException e) {
+            // Not an APQ request we understand; let SmallRye GraphQL report it
+            ctx.next();
+            return;
+        }
+        if (persisted == null) {
+            ctx.next();
+            return;
+        }
+
+        String hash = persisted.getString("sha256Hash");
+        if (persisted.getInteger("version", 1) != 1 || hash == null) {
+            sendError(ctx, 400, "Unsupported persisted query version", "PERSISTED_QUERY_NOT_SUPPORTED");
+            return;
+        }
+
+        String query = body.getString("query");
+        if (query != null) {
+            if (!hash.equalsIgnoreCase(PersistedQueryRegistry.sha256(query))) {
+                sendError(ctx, 400, "provided sha does not match query", "PERSISTED_QUERY_HASH_MISMATCH");
+                return;
+            }
+            count("registered");
+            registry.register(hash, query).subscribe().with(
+                    v -> { },
+                    failure -> LOG.warnf("[APQ] Registering %s failed: %s", hash, failure.getMessage()));
+            ctx.next();
+            return;
+        }
+
+        Context context = Vertx.currentContext();
+        registry.lookup(hash).subscribe().with(
+                stored -> context.runOnContext(v -> {
+                    if (stored == null) {
+                        count("miss");
+                        sendError(ctx, 200, "PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND");
+                        return;
+                    }
+                    count("hit");
+                    // Read back URL-decoded by SmallRye GraphQL, like any query parameter
+                    ctx.queryParams().set("query", URLEncoder.encode(stored, StandardCharsets.UTF_8));
+                    ctx.next();
+                }),
+                failure -> context.runOnContext(v -> ctx.fail(failure)));
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("gateway.apq.requests", "result", result).increment();
+    }
+
+    private static void sendError(RoutingContext ctx, int status, String message, String code) {
+        JsonObject error = new JsonObject()
+                .put("message", message)
+                .put("extensions", new JsonObject().put("code", code));
+        ctx.response()
+                .setStatusCode(status)
+                .putHeader("Content-Type", "application/json")
+                .end(new JsonObject().put("errors", new JsonArray().add(error)).encode());
+    }
+}
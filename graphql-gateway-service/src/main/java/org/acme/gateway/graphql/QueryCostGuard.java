@@ -0,0 +1,156 @@
+package org.acme.gateway.graphql;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.CoercedVariables;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jboss.logging.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Rejects over-budget queries before any resolver runs.
+ *
+ * Wraps the document provider: once a document has parsed and validated, its static
+ * cost and depth are computed against the schema and the request's variables. Over
+ * either limit, the request fails with QUERY_COST_EXCEEDED / QUERY_DEPTH_EXCEEDED
+ * instead of executing. Introspection fields are not counted.
+ *
+ * Metric: gateway.graphql.query.cost{outcome=accepted|rejected}
+ */
+public class QueryCostGuard implements PreparsedDocumentProvider {
+
+    private static final Logger LOG = Logger.getLogger(QueryCostGuard.class);
+
+    private final PreparsedDocumentProvider delegate;
+    private final GraphQLSchema schema;
+    private final GraphQLConfig.Cost config;
+    private final DistributionSummary accepted;
+    private final DistributionSummary rejected;
+
+    public QueryCostGuard(PreparsedDocumentProvider delegate, GraphQLSchema schema,
+                          GraphQLConfig.Cost config, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.schema = schema;
+        this.config = config;
+        this.accepted = costSummary(registry, "accepted");
+        this.rejected = costSummary(registry, "rejected");
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return delegate.getDocumentAsync(executionInput, parseAndValidateFunction)
+                .thenApply(entry -> entry.hasErrors() ? entry : check(executionInput, entry));
+    }
+
+    private PreparsedDocumentEntry check(ExecutionInput executionInput, PreparsedDocumentEntry entry) {
+        QueryCost cost = measure(executionInput, entry);
+
+        if (cost.depth() > config.maxDepth()) {
+            rejected.record(cost.cost());
+            LOG.warnf("[COST] Rejected %s: depth %d > %d", executionInput.getOperationName(), cost.depth(), config.maxDepth());
+            return reject("Query depth " + cost.depth() + " exceeds the maximum of " + config.maxDepth(),
+                    "QUERY_DEPTH_EXCEEDED", cost);
+        }
+        if (cost.cost() > config.maxCost()) {
+            rejected.record(cost.cost());
+            LOG.warnf("[COST] Rejected %s: cost %d > %d", executionInput.getOperationName(), cost.cost(), config.maxCost());
+            return reject("Query cost " + cost.cost() + " exceeds the budget of " + config.maxCost(),
+                    "QUERY_COST_EXCEEDED", cost);
+        }
+        accepted.record(cost.cost());
+        return entry;
+    }
+
+    QueryCost measure(ExecutionInput executionInput, PreparsedDocumentEntry entry) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(schema)
+                .document(entry.getDocument())
+                .operationName(executionInput.getOperationName())
+                .coercedVariables(CoercedVariables.of(executionInput.getVariables()))
+                .build();
+
+        // Post-order: children are visited first and add their cost to the parent's slot
+        Map<QueryVisitorFieldEnvironment, Long> childCost = new HashMap<>();
+        int[] maxDepth = {0};
+        traverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                int depth = depthOf(env);
+                if (depth < 0) {
+                    return;
+                }
+                maxDepth[0] = Math.max(maxDepth[0], depth);
+                long value = fieldCost(env, childCost.getOrDefault(env, 0L));
+                childCost.merge(env.getParentEnvironment(), value, Long::sum);
+            }
+        });
+        return new QueryCost(childCost.getOrDefault(null, 0L), maxDepth[0]);
+    }
+
+    private long fieldCost(QueryVisitorFieldEnvironment env, long selectionsCost) {
+        GraphQLFieldDefinition definition = env.getFieldDefinition();
+        GraphQLConfig.Cost.FieldCost override = config.fields()
+                .get(env.getFieldsContainer().getName() + "." + definition.getName());
+
+        boolean leaf = GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(definition.getType()));
+        int weight = override != null && override.weight().isPresent()
+                ? override.weight().getAsInt()
+                : leaf ? config.scalarWeight() : config.defaultWeight();
+
+        long multiplier = 1;
+        Object first = env.getArguments().get("first");
+        if (first instanceof Number n) {
+            multiplier = Math.max(n.longValue(), 1);
+        } else if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(definition.getType()))) {
+            multiplier = override != null && override.listSize().isPresent()
+                    ? override.listSize().getAsInt()
+                    : config.defaultListSize();
+        }
+        return multiplier * (weight + selectionsCost);
+    }
+
+    /** 1 for root fields; -1 for introspection fields and everything below them. */
+    private static int depthOf(QueryVisitorFieldEnvironment env) {
+        int depth = 0;
+        for (QueryVisitorFieldEnvironment e = env; e != null; e = e.getParentEnvironment()) {
+            if (e.getField().getName().startsWith("__")) {
+                return -1;
+            }
+            depth++;
+        }
+        return depth;
+    }
+
+    private static PreparsedDocumentEntry reject(String message, String code, QueryCost cost) {
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .message(message)
+                .extensions(Map.of("code", code, "cost", cost.cost(), "depth", cost.depth()))
+                .build());
+    }
+
+    private static DistributionSummary costSummary(MeterRegistry registry, String outcome) {
+        return DistributionSummary.builder("gateway.graphql.query.cost")
+                .description("Static cost of incoming GraphQL operations")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    record QueryCost(long cost, int depth) {
+    }
+}
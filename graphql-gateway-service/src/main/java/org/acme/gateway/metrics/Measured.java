@@ -0,0 +1,28 @@
+package org.acme.gateway.metrics;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records every call of the annotated method (or of every method of the annotated type)
+ * in the {@code gateway.operation} timer, with p50/p95/p99 and a percentile histogram,
+ * tagged by operation ("Class.method"), service and outcome
+ * (success / fallback / timeout / error).
+ *
+ * Only {@code Uni}-returning and synchronous methods are timed; {@code Multi} streams
+ * (subscriptions) pass straight through.
+ */
+@InterceptorBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Measured {
+
+    /** Downstream service the call goes to; resolvers leave it at "gateway". */
+    @Nonbinding
+    String service() default "gateway";
+}
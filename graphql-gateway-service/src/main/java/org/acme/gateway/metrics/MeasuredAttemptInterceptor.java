@@ -0,0 +1,31 @@
+package org.acme.gateway.metrics;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Inner part of {@link Measured}: sits inside the fault tolerance interceptor, so it runs
+ * once per attempt of the method body (not for cache hits, fallbacks or calls rejected by an
+ * open circuit) and marks whether any attempt produced a result.
+ */
+@Measured
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_AFTER + 20)
+public class MeasuredAttemptInterceptor {
+
+    @AroundInvoke
+    Object markAttempt(InvocationContext ctx) throws Exception {
+        if (!(ctx.getContextData().get(MeasuredInterceptor.ATTEMPTS) instanceof MeasuredInterceptor.Attempts attempts)) {
+            return ctx.proceed();
+        }
+        Object result = ctx.proceed();
+        if (result instanceof Uni<?> uni) {
+            return uni.invoke(() -> attempts.succeeded = true);
+        }
+        attempts.succeeded = true;
+        return result;
+    }
+}
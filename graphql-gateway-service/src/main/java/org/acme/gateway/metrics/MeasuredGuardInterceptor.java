@@ -0,0 +1,27 @@
+package org.acme.gateway.metrics;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Middle part of {@link Measured}: sits just outside the fault tolerance interceptor (and
+ * inside the cache interceptors), so it marks every call that fault tolerance handles. A
+ * guarded call that returns a result although no attempt of the body succeeded was answered
+ * by @Fallback, including when the circuit was open or the bulkhead full and the body never
+ * ran at all.
+ */
+@Measured
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_AFTER)
+public class MeasuredGuardInterceptor {
+
+    @AroundInvoke
+    Object markGuarded(InvocationContext ctx) throws Exception {
+        if (ctx.getContextData().get(MeasuredInterceptor.ATTEMPTS) instanceof MeasuredInterceptor.Attempts attempts) {
+            attempts.guarded = true;
+        }
+        return ctx.proceed();
+    }
+}
@@ -0,0 +1,128 @@
+package org.acme.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Outer part of {@link Measured}: the outermost interceptor, so the timer covers near-cache
+ * and Redis hits, retries and fallbacks. {@link MeasuredGuardInterceptor} marks that fault
+ * tolerance handled the call (it was not a cache hit) and {@link MeasuredAttemptInterceptor}
+ * runs inside fault tolerance and records whether the method body ever succeeded; together
+ * they tell a real result apart from a fallback one.
+ */
+@Measured
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE)
+public class MeasuredInterceptor {
+
+    static final String METRIC = "gateway.operation";
+
+    static final String ATTEMPTS = MeasuredInterceptor.class.getName() + ".attempts";
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<Method, Timers> timers = new ConcurrentHashMap<>();
+
+    @AroundInvoke
+    Object measure(InvocationContext ctx) throws Exception {
+        Class<?> returnType = ctx.getMethod().getReturnType();
+        if (Multi.class.isAssignableFrom(returnType)) {
+            return ctx.proceed();
+        }
+        Timers timers = timers(ctx);
+        Attempts attempts = new Attempts();
+        ctx.getContextData().put(ATTEMPTS, attempts);
+        Timer.Sample sample = Timer.start(registry);
+
+        if (!Uni.class.isAssignableFrom(returnType)) {
+            try {
+                Object result = ctx.proceed();
+                sample.stop(timers.get(outcome(attempts, null)));
+                return result;
+            } catch (Exception e) {
+                sample.stop(timers.get(outcome(attempts, e)));
+                throw e;
+            }
+        }
+
+        Uni<?> uni;
+        try {
+            uni = (Uni<?>) ctx.proceed();
+        } catch (Exception e) {
+            sample.stop(timers.get(outcome(attempts, e)));
+            throw e;
+        }
+        return uni.onItemOrFailure().invoke((item, failure) -> sample.stop(timers.get(outcome(attempts, failure))));
+    }
+
+    private static Outcome outcome(Attempts attempts, Throwable failure) {
+        if (failure != null) {
+            return failure instanceof TimeoutException ? Outcome.TIMEOUT : Outcome.ERROR;
+        }
+        // A result from behind fault tolerance that no attempt produced can only come from
+        // @Fallback, whether the attempts failed or an open circuit skipped the body entirely
+        return attempts.guarded && !attempts.succeeded ? Outcome.FALLBACK : Outcome.SUCCESS;
+    }
+
+    private Timers timers(InvocationContext ctx) {
+        return timers.computeIfAbsent(ctx.getMethod(), method -> {
+            Measured binding = binding(method);
+            String operation = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            return new Timers(registry, operation, binding != null ? binding.service() : "gateway");
+        });
+    }
+
+    private static Measured binding(Method method) {
+        Measured measured = method.getAnnotation(Measured.class);
+        return measured != null ? measured : method.getDeclaringClass().getAnnotation(Measured.class);
+    }
+
+    /** Shared with the inner interceptors through the invocation's context data. */
+    static final class Attempts {
+        volatile boolean guarded;
+        volatile boolean succeeded;
+    }
+
+    enum Outcome {
+        SUCCESS, FALLBACK, TIMEOUT, ERROR;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /** One timer per outcome for a method, so the hot path does no tag lookups. */
+    private static final class Timers {
+
+        private final Timer[] byOutcome = new Timer[Outcome.values().length];
+
+        Timers(MeterRegistry registry, String operation, String service) {
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome[outcome.ordinal()] = Timer.builder(METRIC)
+                        .description("Gateway resolver and downstream client latency")
+                        .tag("operation", operation)
+                        .tag("service", service)
+                        .tag("outcome", outcome.tag)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+
+        Timer get(Outcome outcome) {
+            return byOutcome[outcome.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.acme.gateway.model;
+
+import java.util.List;
+
+/**
+ * Relay connection over Orders, backed by keyset pagination on the Order microservice.
+ */
+public class OrderConnection {
+
+    private List<OrderEdge> edges;
+    private PageInfo pageInfo;
+
+    public OrderConnection() {
+    }
+
+    public OrderConnection(List<OrderEdge> edges, PageInfo pageInfo) {
+        this.edges = edges;
+        this.pageInfo = pageInfo;
+    }
+
+    public List<OrderEdge> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<OrderEdge> edges) {
+        this.edges = edges;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    public void setPageInfo(PageInfo pageInfo) {
+        this.pageInfo = pageInfo;
+    }
+}
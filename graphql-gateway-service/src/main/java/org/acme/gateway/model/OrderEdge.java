@@ -0,0 +1,34 @@
+package org.acme.gateway.model;
+
+/**
+ * Relay edge: one Order plus the cursor that points just past it.
+ */
+public class OrderEdge {
+
+    private String cursor;
+    private Order node;
+
+    public OrderEdge() {
+    }
+
+    public OrderEdge(String cursor, Order node) {
+        this.cursor = cursor;
+        this.node = node;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Order getNode() {
+        return node;
+    }
+
+    public void setNode(Order node) {
+        this.node = node;
+    }
+}
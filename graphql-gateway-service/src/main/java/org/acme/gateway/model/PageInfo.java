@@ -0,0 +1,55 @@
+package org.acme.gateway.model;
+
+/**
+ * Relay-style page metadata shared by every *Connection type.
+ * Cursors are opaque; pass endCursor back as "after" to fetch the next page.
+ */
+public class PageInfo {
+
+    private boolean hasNextPage;
+    private boolean hasPreviousPage;
+    private String startCursor;
+    private String endCursor;
+
+    public PageInfo() {
+    }
+
+    public PageInfo(boolean hasNextPage, boolean hasPreviousPage, String startCursor, String endCursor) {
+        this.hasNextPage = hasNextPage;
+        this.hasPreviousPage = hasPreviousPage;
+        this.startCursor = startCursor;
+        this.endCursor = endCursor;
+    }
+
+    public boolean isHasNextPage() {
+        return hasNextPage;
+    }
+
+    public void setHasNextPage(boolean hasNextPage) {
+        this.hasNextPage = hasNextPage;
+    }
+
+    public boolean isHasPreviousPage() {
+        return hasPreviousPage;
+    }
+
+    public void setHasPreviousPage(boolean hasPreviousPage) {
+        this.hasPreviousPage = hasPreviousPage;
+    }
+
+    public String getStartCursor() {
+        return startCursor;
+    }
+
+    public void setStartCursor(String startCursor) {
+        this.startCursor = startCursor;
+    }
+
+    public String getEndCursor() {
+        return endCursor;
+    }
+
+    public void setEndCursor(String endCursor) {
+        this.endCursor = endCursor;
+    }
+}
@@ -0,0 +1,36 @@
+package org.acme.gateway.model;
+
+import java.util.List;
+
+/**
+ * Relay connection over Products, backed by keyset pagination on the Product microservice.
+ */
+public class ProductConnection {
+
+    private List<ProductEdge> edges;
+    private PageInfo pageInfo;
+
+    public ProductConnection() {
+    }
+
+    public ProductConnection(List<ProductEdge> edges, PageInfo pageInfo) {
+        this.edges = edges;
+        this.pageInfo = pageInfo;
+    }
+
+    public List<ProductEdge> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<ProductEdge> edges) {
+        this.edges = edges;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    public void setPageInfo(PageInfo pageInfo) {
+        this.pageInfo = pageInfo;
+    }
+}
@@ -0,0 +1,34 @@
+package org.acme.gateway.model;
+
+/**
+ * Relay edge: one Product plus the cursor that points just past it.
+ */
+public class ProductEdge {
+
+    private String cursor;
+    private Product node;
+
+    public ProductEdge() {
+    }
+
+    public ProductEdge(String cursor, Product node) {
+        this.cursor = cursor;
+        this.node = node;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Product getNode() {
+        return node;
+    }
+
+    public void setNode(Product node) {
+        this.node = node;
+    }
+}
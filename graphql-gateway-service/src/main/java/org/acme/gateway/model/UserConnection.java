@@ -0,0 +1,36 @@
+package org.acme.gateway.model;
+
+import java.util.List;
+
+/**
+ * Relay connection over Users, backed by keyset pagination on the User microservice.
+ */
+public class UserConnection {
+
+    private List<UserEdge> edges;
+    private PageInfo pageInfo;
+
+    public UserConnection() {
+    }
+
+    public UserConnection(List<UserEdge> edges, PageInfo pageInfo) {
+        this.edges = edges;
+        this.pageInfo = pageInfo;
+    }
+
+    public List<UserEdge> getEdges() {
+        return edges;
+    }
+
+    public void setEdges(List<UserEdge> edges) {
+        this.edges = edges;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    public void setPageInfo(PageInfo pageInfo) {
+        this.pageInfo = pageInfo;
+    }
+}
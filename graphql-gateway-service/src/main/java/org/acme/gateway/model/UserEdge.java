@@ -0,0 +1,34 @@
+package org.acme.gateway.model;
+
+/**
+ * Relay edge: one User plus the cursor that points just past it.
+ */
+public class UserEdge {
+
+    private String cursor;
+    private User node;
+
+    public UserEdge() {
+    }
+
+    public UserEdge(String cursor, User node) {
+        this.cursor = cursor;
+        this.node = node;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public User getNode() {
+        return node;
+    }
+
+    public void setNode(User node) {
+        this.node = node;
+    }
+}
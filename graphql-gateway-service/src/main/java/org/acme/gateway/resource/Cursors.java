@@ -0,0 +1,61 @@
+package org.acme.gateway.resource;
+
+import org.acme.gateway.model.PageInfo;
+import org.eclipse.microprofile.graphql.GraphQLException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque Relay cursors over keyset pagination: base64url of "Type:id".
+ * The type prefix stops a cursor from one connection being replayed on another.
+ */
+final class Cursors {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private Cursors() {
+    }
+
+    static String encode(String type, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((type + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id behind {@code cursor}, or {@code null} to start from the first page.
+     */
+    static Long decode(String type, String cursor) throws GraphQLException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(type + ":")) {
+                return Long.valueOf(raw.substring(type.length() + 1));
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the error below
+        }
+        throw new GraphQLException("Invalid cursor for " + type + ": " + cursor);
+    }
+
+    static int pageSize(Integer first) throws GraphQLException {
+        if (first == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (first < 1 || first > MAX_PAGE_SIZE) {
+            throw new GraphQLException("first must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return first;
+    }
+
+    static <T> PageInfo pageInfo(String type, List<T> nodes, Function<T, Long> id, boolean hasNext, Long after) {
+        String start = nodes.isEmpty() ? null : encode(type, id.apply(nodes.get(0)));
+        String end = nodes.isEmpty() ? null : encode(type, id.apply(nodes.get(nodes.size() - 1)));
+        return new PageInfo(hasNext, after != null, start, end);
+    }
+}
@@ -4,6 +4,8 @@ import io.smallrye.graphql.api.Subscription;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
+import org.acme.gateway.cache.CacheInvalidationBus;
+import org.acme.gateway.cache.NearCacheManager;
 import org.acme.gateway.client.OrderClient;
 import org.acme.gateway.client.PaymentClient;
 import org.acme.gateway.client.ProductClient;
@@ -12,7 +14,11 @@ import org.acme.gateway.dto.downstream.OrderResponse;
 import org.acme.gateway.dto.downstream.PaymentResponse;
 import org.acme.gateway.dto.downstream.ProductResponse;
 import org.acme.gateway.event.OrderEventBroadcaster;
+import org.acme.gateway.metrics.Measured;
 import org.acme.gateway.model.Order;
+import org.acme.gateway.model.OrderConnection;
+import org.acme.gateway.model.OrderEdge;
+import org.acme.gateway.model.PageInfo;
 import org.acme.gateway.model.Payment;
 import org.acme.gateway.model.Product;
 import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
@@ -24,23 +30,44 @@ import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * GraphQL API for Order queries.
  *
  * Demonstrates nested resolution:
- *   order → products (scatter to Product-Service for each productId)
- *   order → payment (single call to Payment-Service)
+ *   order → products (batched across all orders into one bulk Product-Service call)
+ *   order → payment (batched across all orders into one bulk Payment-Service call)
+ *
+ * Both field resolvers keep per-key results in the near cache, so only ids not
+ * already held locally go downstream.
  */
 @GraphQLApi
 public class OrderResolver {
 
     private static final Logger LOG = Logger.getLogger(OrderResolver.class);
 
+    static final String ORDER_CURSOR = "Order";
+
+    /** Shared with ProductResolver.getProduct, keyed by product id. */
+    static final String PRODUCT_CACHE = "product-cache";
+    /** Keyed by order id; orders without a payment yet are never cached. */
+    public static final String ORDER_PAYMENT_CACHE = "order-payment-cache";
+
+    /** Bounds for ordersCreatedBatch arguments. */
+    static final int MIN_BATCH_WINDOW_MS = 10;
+    static final int MAX_BATCH_WINDOW_MS = 10_000;
+    static final int MAX_BATCH_SIZE = 1000;
+
     @Inject
     @RestClient
     OrderClient orderClient;
@@ -56,98 +83,125 @@ public class OrderResolver {
     @Inject
     OrderEventBroadcaster orderEventBroadcaster;
 
+    @Inject
+    NearCacheManager nearCache;
+
+    @Inject
+    CacheInvalidationBus cacheInvalidationBus;
+
     // ──────────────────────────────────────────────
     //  Root Queries
     // ──────────────────────────────────────────────
 
+    /**
+     * Every order in one list. order-service streams the rows as NDJSON and each one is
+     * mapped as it arrives, which spares order-service the JSON array and the gateway the
+     * raw response body; the mapped list itself is still complete in memory before the
+     * GraphQL response is written. Large exports should page with {@code ordersConnection}.
+     */
     @Query("orders")
-    @Description("Get all orders")
+    @Description("Get all orders (unpaged; use ordersConnection for large result sets)")
+    @Measured
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
     @Fallback(fallbackMethod = "getAllOrdersFallback")
     public Uni<List<Order>> getAllOrders() {
-        long start = System.nanoTime();
-        return orderClient.getAll()
-                .onItem().transform(responses -> {
-                    List<Order> orders = responses.stream()
-                            .map(OrderResolver::toOrder)
-                            .collect(Collectors.toList());
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] orders() -> Order-Service: %dms (%d results)", elapsed, orders.size());
-                    return orders;
-                });
+        return orderClient.streamAll()
+                .onItem().transform(OrderResolver::toOrder)
+                .collect().asList();
     }
 
     @Query("order")
     @Description("Get a single order by ID")
+    @Measured
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
     @Fallback(fallbackMethod = "getOrderFallback")
     public Uni<Order> getOrder(@Name("id") Long id) {
-        long start = System.nanoTime();
         return orderClient.getById(id)
-                .onItem().transform(response -> {
-                    Order order = toOrder(response);
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] order(id=%d) -> Order-Service: %dms", id, elapsed);
-                    return order;
+                .onItem().transform(OrderResolver::toOrder);
+    }
+
+    @Query("ordersConnection")
+    @Description("Page through orders in id order (Relay cursor connection)")
+    @Measured
+    @Timeout(5000)
+    @Retry(maxRetries = 3, delay = 200, abortOn = GraphQLException.class)
+    @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000, skipOn = GraphQLException.class)
+    @Fallback(fallbackMethod = "getOrdersConnectionFallback", skipOn = GraphQLException.class)
+    public Uni<OrderConnection> getOrdersConnection(@Name("first") @DefaultValue("20") Integer first,
+                                                    @Name("after") String after) throws GraphQLException {
+        int size = Cursors.pageSize(first);
+        Long afterId = Cursors.decode(ORDER_CURSOR, after);
+        return orderClient.getPage(afterId, size)
+                .onItem().transform(page -> {
+                    List<Order> orders = page.items.stream()
+                            .map(OrderResolver::toOrder)
+                            .collect(Collectors.toList());
+                    List<OrderEdge> edges = orders.stream()
+                            .map(node -> new OrderEdge(Cursors.encode(ORDER_CURSOR, node.getId()), node))
+                            .collect(Collectors.toList());
+                    return new OrderConnection(edges,
+                            Cursors.pageInfo(ORDER_CURSOR, orders, Order::getId, page.hasNext, afterId));
                 });
     }
 
     // ──────────────────────────────────────────────
     //  Field Resolver: Order.products
-    //  Scatter-Gather: fires parallel requests for each productId
+    //  Batched: SmallRye GraphQL hands us every Order at this level of the
+    //  query in one call, so all distinct productIds not already in the
+    //  near cache go to Product-Service in a single request.
     // ──────────────────────────────────────────────
 
     @Name("products")
     @Description("Products in this order (resolved from Product-Service)")
+    @Measured
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
-    @Fallback(fallbackMethod = "getProductsForOrderFallback")
-    public Uni<List<Product>> getProductsForOrder(@Source Order order) {
-        if (order.getProductIds() == null || order.getProductIds().isEmpty()) {
-            return Uni.createFrom().item(List.of());
+    @Fallback(fallbackMethod = "getProductsForOrdersFallback")
+    public Uni<List<List<Product>>> getProductsForOrders(@Source List<Order> orders) {
+        Set<Long> productIds = orders.stream()
+                .filter(order -> order.getProductIds() != null)
+                .flatMap(order -> order.getProductIds().stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (productIds.isEmpty()) {
+            return Uni.createFrom().item(emptyProductLists(orders));
         }
 
-        long start = System.nanoTime();
-        int productCount = order.getProductIds().size();
-
-        // Fire all product fetches in parallel using Multi
-        return Multi.createFrom().iterable(order.getProductIds())
-                .onItem().transformToUniAndMerge(productId ->
-                        productClient.getById(productId)
-                                .onItem().transform(OrderResolver::toProduct)
-                )
-                .collect().asList()
-                .onItem().invoke(products -> {
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] Order(%d).products -> Product-Service (scatter %d calls): %dms",
-                            order.getId(), productCount, elapsed);
-                });
+
+        // One bulk call for every uncached productId, then fan the results back out per order
+        return nearCache.getAll(PRODUCT_CACHE, productIds, this::loadProducts)
+                .onItem().transform(productsById -> orders.stream()
+                        .map(order -> productsFor(order, productsById))
+                        .collect(Collectors.toList()));
     }
 
     // ──────────────────────────────────────────────
     //  Field Resolver: Order.payment
+    //  Batched: every Order.payment in the query not already in the near
+    //  cache is coalesced into one Payment-Service call.
     // ──────────────────────────────────────────────
 
     @Name("payment")
     @Description("Payment details for this order (resolved from Payment-Service)")
+    @Measured
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
-    @Fallback(fallbackMethod = "getPaymentForOrderFallback")
-    public Uni<Payment> getPaymentForOrder(@Source Order order) {
-        long start = System.nanoTime();
-        return paymentClient.getByOrderId(order.getId())
-                .onItem().transform(response -> {
-                    Payment payment = toPayment(response);
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] Order(%d).payment -> Payment-Service: %dms", order.getId(), elapsed);
-                    return payment;
-                });
+    @Fallback(fallbackMethod = "getPaymentsForOrdersFallback")
+    public Uni<List<Payment>> getPaymentsForOrders(@Source List<Order> orders) {
+        Set<Long> orderIds = orders.stream()
+                .map(Order::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return nearCache.getAll(ORDER_PAYMENT_CACHE, orderIds, this::loadPayments)
+                .onItem().transform(paymentsByOrder -> orders.stream()
+                        .map(order -> paymentsByOrder.get(order.getId()))
+                        .collect(Collectors.toList()));
     }
 
     // ──────────────────────────────────────────────
@@ -156,6 +210,7 @@ public class OrderResolver {
 
     @Mutation("createOrder")
     @Description("Create a new order (triggers Kafka event + subscription)")
+    @Measured
     public Uni<Order> createOrder(@Name("userId") Long userId,
                                   @Name("totalAmount") BigDecimal totalAmount,
                                   @Name("productIds") List<Long> productIds) {
@@ -166,21 +221,70 @@ public class OrderResolver {
 
         return orderClient.create(request)
                 .onItem().transform(response -> {
+                    // orderCreated subscribers are notified from the order-events topic
                     Order order = toOrder(response);
-                    orderEventBroadcaster.broadcast(order);
                     LOG.infof("[MUTATION] createOrder -> Order-Service: orderId=%d", order.getId());
+                    evictForNewOrder(order);
                     return order;
                 });
     }
 
+    /**
+     * A new order changes its user's order list, and its payment appears once the Kafka
+     * flow has run. Every replica evicts both when the order-events record arrives; this
+     * replica also evicts them right away, so the client that created the order reads it
+     * back without waiting for the topic.
+     */
+    void evictForNewOrder(Order order) {
+        cacheInvalidationBus.invalidateLocal(UserResolver.USER_ORDERS_CACHE, order.getUserId());
+        cacheInvalidationBus.invalidateLocal(ORDER_PAYMENT_CACHE, order.getId());
+    }
+
+    // ──────────────────────────────────────────────
+    //  Downstream Loaders (near-cache misses only)
+    // ──────────────────────────────────────────────
+
+    Uni<Map<Long, Product>> loadProducts(List<Long> productIds) {
+        return productClient.getByIds(productIds)
+                .onItem().transform(responses -> responses.stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toMap(r -> r.id, OrderResolver::toProduct)));
+    }
+
+    Uni<Map<Long, Payment>> loadPayments(List<Long> orderIds) {
+        return paymentClient.getByOrderIds(orderIds)
+                .onItem().transform(responses -> {
+                    Map<Long, Payment> paymentsByOrder = new HashMap<>();
+                    for (int i = 0; i < orderIds.size(); i++) {
+                        PaymentResponse response = responses.get(i);
+                        if (response != null) {
+                            paymentsByOrder.put(orderIds.get(i), toPayment(response));
+                        }
+                    }
+                    return paymentsByOrder;
+                });
+    }
+
     // ──────────────────────────────────────────────
     //  Subscription: Order Created
     // ──────────────────────────────────────────────
 
     @Subscription("orderCreated")
-    @Description("Subscribe to new order events")
-    public Multi<Order> onOrderCreated() {
-        return orderEventBroadcaster.stream();
+    @Description("Subscribe to new order events, optionally only for one user and/or status")
+    public Multi<Order> onOrderCreated(@Name("userId") Long userId,
+                                       @Name("status") String status) {
+        return orderEventBroadcaster.stream(userId, status);
+    }
+
+    @Subscription("ordersCreatedBatch")
+    @Description("New orders in batches: flushed every windowMs, or as soon as maxSize orders are waiting")
+    public Multi<List<Order>> onOrdersCreatedBatch(@Name("windowMs") @DefaultValue("250") int windowMs,
+                                                   @Name("maxSize") @DefaultValue("100") int maxSize,
+                                                   @Name("userId") Long userId,
+                                                   @Name("status") String status) {
+        Duration window = Duration.ofMillis(Math.min(Math.max(windowMs, MIN_BATCH_WINDOW_MS), MAX_BATCH_WINDOW_MS));
+        int size = Math.min(Math.max(maxSize, 1), MAX_BATCH_SIZE);
+        return orderEventBroadcaster.batches(userId, status, size, window);
     }
 
     // ──────────────────────────────────────────────
@@ -197,20 +301,41 @@ public class OrderResolver {
         return Uni.createFrom().nullItem();
     }
 
-    Uni<List<Product>> getProductsForOrderFallback(Order order) {
-        LOG.warnf("[FALLBACK] getProductsForOrder(orderId=%d) — Product-Service unavailable, returning empty list", order.getId());
-        return Uni.createFrom().item(Collections.emptyList());
+    Uni<List<List<Product>>> getProductsForOrdersFallback(List<Order> orders) {
+        LOG.warnf("[FALLBACK] getProductsForOrders(%d orders) — Product-Service unavailable, returning empty lists", orders.size());
+        return Uni.createFrom().item(emptyProductLists(orders));
     }
 
-    Uni<Payment> getPaymentForOrderFallback(Order order) {
-        LOG.warnf("[FALLBACK] getPaymentForOrder(orderId=%d) — Payment-Service unavailable, returning null", order.getId());
-        return Uni.createFrom().nullItem();
+    Uni<List<Payment>> getPaymentsForOrdersFallback(List<Order> orders) {
+        LOG.warnf("[FALLBACK] getPaymentsForOrders(%d orders) — Payment-Service unavailable, returning nulls", orders.size());
+        return Uni.createFrom().item(Collections.nCopies(orders.size(), null));
+    }
+
+    Uni<OrderConnection> getOrdersConnectionFallback(Integer first, String after) {
+        LOG.warnf("[FALLBACK] getOrdersConnection(first=%d) — Order-Service unavailable, returning empty page", first);
+        return Uni.createFrom().item(new OrderConnection(List.of(), new PageInfo(false, after != null, null, null)));
     }
 
     // ──────────────────────────────────────────────
     //  Mappers
     // ──────────────────────────────────────────────
 
+    static List<Product> productsFor(Order order, Map<Long, Product> productsById) {
+        if (order.getProductIds() == null) {
+            return List.of();
+        }
+        return order.getProductIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    static List<List<Product>> emptyProductLists(List<Order> orders) {
+        return orders.stream()
+                .map(order -> Collections.<Product>emptyList())
+                .collect(Collectors.toList());
+    }
+
     static Order toOrder(OrderResponse r) {
         return new Order(
                 r.id,
@@ -4,9 +4,14 @@ import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import org.acme.gateway.client.ProductClient;
 import org.acme.gateway.dto.downstream.ProductResponse;
+import org.acme.gateway.metrics.Measured;
+import org.acme.gateway.model.PageInfo;
 import org.acme.gateway.model.Product;
+import org.acme.gateway.model.ProductConnection;
+import org.acme.gateway.model.ProductEdge;
 import io.quarkus.cache.CacheKey;
 import io.quarkus.cache.CacheResult;
+import org.acme.gateway.cache.NearCache;
 import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
 import org.eclipse.microprofile.faulttolerance.Fallback;
 import org.eclipse.microprofile.faulttolerance.Retry;
@@ -27,45 +32,63 @@ public class ProductResolver {
 
     private static final Logger LOG = Logger.getLogger(ProductResolver.class);
 
+    static final String PRODUCT_CURSOR = "Product";
+
     @Inject
     @RestClient
     ProductClient productClient;
 
     @Query("products")
     @Description("Get all products")
+    @Measured
+    @NearCache
     @CacheResult(cacheName = "products-cache")
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
     @Fallback(fallbackMethod = "getAllProductsFallback")
     public Uni<List<Product>> getAllProducts() {
-        long start = System.nanoTime();
         return productClient.getAll()
-                .onItem().transform(responses -> {
-                    List<Product> products = responses.stream()
-                            .map(ProductResolver::toProduct)
-                            .collect(Collectors.toList());
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] products() -> Product-Service: %dms (%d results)", elapsed, products.size());
-                    return products;
-                });
+                .onItem().transform(responses -> responses.stream()
+                        .map(ProductResolver::toProduct)
+                        .collect(Collectors.toList()));
     }
 
     @Query("product")
     @Description("Get a single product by ID")
+    @Measured
+    @NearCache
     @CacheResult(cacheName = "product-cache")
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
     @Fallback(fallbackMethod = "getProductFallback")
     public Uni<Product> getProduct(@Name("id") @CacheKey Long id) {
-        long start = System.nanoTime();
         return productClient.getById(id)
-                .onItem().transform(response -> {
-                    Product product = toProduct(response);
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] product(id=%d) -> Product-Service: %dms", id, elapsed);
-                    return product;
+                .onItem().transform(ProductResolver::toProduct);
+    }
+
+    @Query("productsConnection")
+    @Description("Page through products in id order (Relay cursor connection)")
+    @Measured
+    @Timeout(5000)
+    @Retry(maxRetries = 3, delay = 200, abortOn = GraphQLException.class)
+    @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000, skipOn = GraphQLException.class)
+    @Fallback(fallbackMethod = "getProductsConnectionFallback", skipOn = GraphQLException.class)
+    public Uni<ProductConnection> getProductsConnection(@Name("first") @DefaultValue("20") Integer first,
+                                                        @Name("after") String after) throws GraphQLException {
+        int size = Cursors.pageSize(first);
+        Long afterId = Cursors.decode(PRODUCT_CURSOR, after);
+        return productClient.getPage(afterId, size)
+                .onItem().transform(page -> {
+                    List<Product> products = page.items.stream()
+                            .map(ProductResolver::toProduct)
+                            .collect(Collectors.toList());
+                    List<ProductEdge> edges = products.stream()
+                            .map(node -> new ProductEdge(Cursors.encode(PRODUCT_CURSOR, node.getId()), node))
+                            .collect(Collectors.toList());
+                    return new ProductConnection(edges,
+                            Cursors.pageInfo(PRODUCT_CURSOR, products, Product::getId, page.hasNext, afterId));
                 });
     }
 
@@ -79,6 +102,11 @@ public class ProductResolver {
         return Uni.createFrom().nullItem();
     }
 
+    Uni<ProductConnection> getProductsConnectionFallback(Integer first, String after) {
+        LOG.warnf("[FALLBACK] getProductsConnection(first=%d) — Product-Service unavailable, returning empty page", first);
+        return Uni.createFrom().item(new ProductConnection(List.of(), new PageInfo(false, after != null, null, null)));
+    }
+
     static Product toProduct(ProductResponse r) {
         return new Product(r.id, r.name, r.description, r.price, r.stockQuantity, r.category);
     }
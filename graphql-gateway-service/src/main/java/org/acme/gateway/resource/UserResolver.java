@@ -6,10 +6,16 @@ import org.acme.gateway.client.OrderClient;
 import org.acme.gateway.client.UserClient;
 import org.acme.gateway.dto.downstream.OrderResponse;
 import org.acme.gateway.dto.downstream.UserResponse;
+import org.acme.gateway.metrics.Measured;
 import org.acme.gateway.model.Order;
+import org.acme.gateway.model.PageInfo;
 import org.acme.gateway.model.User;
+import org.acme.gateway.model.UserConnection;
+import org.acme.gateway.model.UserEdge;
 import io.quarkus.cache.CacheKey;
 import io.quarkus.cache.CacheResult;
+import org.acme.gateway.cache.NearCache;
+import org.acme.gateway.cache.NearCacheManager;
 import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
 import org.eclipse.microprofile.faulttolerance.Fallback;
 import org.eclipse.microprofile.faulttolerance.Retry;
@@ -21,6 +27,7 @@ import org.jboss.logging.Logger;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +35,8 @@ import java.util.stream.Collectors;
  *
  * This resolver demonstrates the Gateway Aggregation Pattern:
  * 1. Root query fetches User from User-Service
- * 2. Field resolver "orders" fetches from Order-Service when requested
+ * 2. Field resolver "orders" fetches from Order-Service when requested,
+ *    batched into one call for all users in the query
  * 3. Quarkus only calls field resolvers if the client actually requests that field
  *    (this is the key advantage over REST — no over-fetching)
  */
@@ -37,6 +45,11 @@ public class UserResolver {
 
     private static final Logger LOG = Logger.getLogger(UserResolver.class);
 
+    static final String USER_CURSOR = "User";
+
+    /** Keyed by user id; evicted on every replica when that user places an order. */
+    public static final String USER_ORDERS_CACHE = "user-orders-cache";
+
     @Inject
     @RestClient
     UserClient userClient;
@@ -45,71 +58,100 @@ public class UserResolver {
     @RestClient
     OrderClient orderClient;
 
+    @Inject
+    NearCacheManager nearCache;
+
     // ──────────────────────────────────────────────
     //  Root Queries
     // ──────────────────────────────────────────────
 
     @Query("users")
     @Description("Get all users")
+    @Measured
+    @NearCache
     @CacheResult(cacheName = "users-cache")
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
     @Fallback(fallbackMethod = "getAllUsersFallback")
     public Uni<List<User>> getAllUsers() {
-        long start = System.nanoTime();
         return userClient.getAll()
-                .onItem().transform(responses -> {
-                    List<User> users = responses.stream()
-                            .map(UserResolver::toUser)
-                            .collect(Collectors.toList());
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] users() -> User-Service: %dms (%d results)", elapsed, users.size());
-                    return users;
-                });
+                .onItem().transform(responses -> responses.stream()
+                        .map(UserResolver::toUser)
+                        .collect(Collectors.toList()));
     }
 
     @Query("user")
     @Description("Get a single user by ID")
+    @Measured
+    @NearCache
     @CacheResult(cacheName = "user-cache")
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
     @Fallback(fallbackMethod = "getUserFallback")
     public Uni<User> getUser(@Name("id") @CacheKey Long id) {
-        long start = System.nanoTime();
         return userClient.getById(id)
-                .onItem().transform(response -> {
-                    User user = toUser(response);
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] user(id=%d) -> User-Service: %dms", id, elapsed);
-                    return user;
+                .onItem().transform(UserResolver::toUser);
+    }
+
+    @Query("usersConnection")
+    @Description("Page through users in id order (Relay cursor connection)")
+    @Measured
+    @Timeout(5000)
+    @Retry(maxRetries = 3, delay = 200, abortOn = GraphQLException.class)
+    @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000, skipOn = GraphQLException.class)
+    @Fallback(fallbackMethod = "getUsersConnectionFallback", skipOn = GraphQLException.class)
+    public Uni<UserConnection> getUsersConnection(@Name("first") @DefaultValue("20") Integer first,
+                                                  @Name("after") String after) throws GraphQLException {
+        int size = Cursors.pageSize(first);
+        Long afterId = Cursors.decode(USER_CURSOR, after);
+        return userClient.getPage(afterId, size)
+                .onItem().transform(page -> {
+                    List<User> users = page.items.stream()
+                            .map(UserResolver::toUser)
+                            .collect(Collectors.toList());
+                    List<UserEdge> edges = users.stream()
+                            .map(node -> new UserEdge(Cursors.encode(USER_CURSOR, node.getId()), node))
+                            .collect(Collectors.toList());
+                    return new UserConnection(edges,
+                            Cursors.pageInfo(USER_CURSOR, users, User::getId, page.hasNext, afterId));
                 });
     }
 
     // ──────────────────────────────────────────────
     //  Field Resolver: User.orders
     //  Only invoked when the client queries { user { orders { ... } } }
+    //  Batched: every User at this level of the query not already in the
+    //  near cache is resolved with one Order-Service call that returns
+    //  orders grouped by userId.
     // ──────────────────────────────────────────────
 
     @Name("orders")
     @Description("Orders placed by this user (resolved from Order-Service)")
+    @Measured
     @Timeout(5000)
     @Retry(maxRetries = 3, delay = 200)
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 10000)
-    @Fallback(fallbackMethod = "getOrdersForUserFallback")
-    public Uni<List<Order>> getOrdersForUser(@Source User user) {
-        long start = System.nanoTime();
-        return orderClient.getByUserId(user.getId())
-                .onItem().transform(responses -> {
-                    List<Order> orders = responses.stream()
-                            .map(UserResolver::toOrder)
-                            .collect(Collectors.toList());
-                    long elapsed = (System.nanoTime() - start) / 1_000_000;
-                    LOG.infof("[TIMING] User(%d).orders -> Order-Service: %dms (%d results)",
-                            user.getId(), elapsed, orders.size());
-                    return orders;
-                });
+    @Fallback(fallbackMethod = "getOrdersForUsersFallback")
+    public Uni<List<List<Order>>> getOrdersForUsers(@Source List<User> users) {
+        List<Long> userIds = users.stream()
+                .map(User::getId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        return nearCache.getAll(USER_ORDERS_CACHE, userIds, this::loadOrders)
+                .onItem().transform(ordersByUser -> users.stream()
+                        .map(user -> ordersByUser.getOrDefault(user.getId(), List.of()))
+                        .collect(Collectors.toList()));
+    }
+
+    Uni<Map<Long, List<Order>>> loadOrders(List<Long> userIds) {
+        return orderClient.getByUserIds(userIds)
+                .onItem().transform(ordersByUser -> ordersByUser.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stream()
+                                .map(UserResolver::toOrder)
+                                .collect(Collectors.toList()))));
     }
 
     // ──────────────────────────────────────────────
@@ -126,9 +168,16 @@ public class UserResolver {
         return Uni.createFrom().nullItem();
     }
 
-    Uni<List<Order>> getOrdersForUserFallback(User user) {
-        LOG.warnf("[FALLBACK] getOrdersForUser(userId=%d) — Order-Service unavailable, returning empty list", user.getId());
-        return Uni.createFrom().item(Collections.emptyList());
+    Uni<List<List<Order>>> getOrdersForUsersFallback(List<User> users) {
+        LOG.warnf("[FALLBACK] getOrdersForUsers(%d users) — Order-Service unavailable, returning empty lists", users.size());
+        return Uni.createFrom().item(users.stream()
+                .map(user -> Collections.<Order>emptyList())
+                .collect(Collectors.toList()));
+    }
+
+    Uni<UserConnection> getUsersConnectionFallback(Integer first, String after) {
+        LOG.warnf("[FALLBACK] getUsersConnection(first=%d) — User-Service unavailable, returning empty page", first);
+        return Uni.createFrom().item(new UserConnection(List.of(), new PageInfo(false, after != null, null, null)));
     }
 
     // ──────────────────────────────────────────────
@@ -1,9 +1,21 @@
 package org.acme.gateway;
 
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import jakarta.inject.Inject;
+import org.acme.gateway.event.OrderCreatedEvent;
+import org.acme.gateway.event.OrderEventBroadcaster;
+import org.acme.gateway.event.OrderEventConsumer;
+import org.acme.gateway.graphql.PersistedQueryRegistry;
+import org.acme.gateway.model.Order;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.*;
 
 @QuarkusTest
@@ -11,6 +23,12 @@ public class GatewayResourceTest {
 
     private static final String GRAPHQL_ENDPOINT = "/graphql";
 
+    @Inject
+    OrderEventConsumer orderEventConsumer;
+
+    @Inject
+    OrderEventBroadcaster broadcaster;
+
     private io.restassured.response.ValidatableResponse graphqlQuery(String query) {
         String body = String.format("{\"query\": \"%s\"}", query.replace("\"", "\\\"").replace("\n", " "));
         return given()
@@ -21,6 +39,41 @@ public class GatewayResourceTest {
                 .then();
     }
 
+    private io.restassured.response.ValidatableResponse persistedQuery(String hash, String query) {
+        String extensions = String.format(
+                "\"extensions\": {\"persistedQuery\": {\"version\": 1, \"sha256Hash\": \"%s\"}}", hash);
+        String body = query == null
+                ? "{" + extensions + "}"
+                : String.format("{\"query\": \"%s\", %s}", query, extensions);
+        return given()
+                .contentType("application/json")
+                .body(body)
+                .when()
+                .post(GRAPHQL_ENDPOINT)
+                .then();
+    }
+
+    private static OrderCreatedEvent orderCreated(Long orderId, Long userId) {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.orderId = orderId;
+        event.userId = userId;
+        event.status = "PENDING";
+        event.totalAmount = new BigDecimal("10.00");
+        event.productIds = List.of(1L);
+        return event;
+    }
+
+    private static double operationCount(String operation, String outcome) {
+        String prefix = "gateway_operation_seconds_count{";
+        String metrics = given().when().get("/q/metrics").then().statusCode(200).extract().asString();
+        return metrics.lines()
+                .filter(line -> line.startsWith(prefix))
+                .filter(line -> line.contains("operation=\"" + operation + "\""))
+                .filter(line -> line.contains("outcome=\"" + outcome + "\""))
+                .mapToDouble(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .sum();
+    }
+
     @Test
     void testGraphQLEndpointIsAvailable() {
         graphqlQuery("{ __schema { types { name } } }")
@@ -76,6 +129,108 @@ public class GatewayResourceTest {
                 .statusCode(200);
     }
 
+    @Test
+    void testResolverAndClientCallsAreTimed() {
+        // Downstream services are not running in tests, so the resolver ends in its fallback
+        graphqlQuery("{ products { id } }")
+                .statusCode(200);
+
+        given()
+                .when().get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("gateway_operation_seconds_count"))
+                .body(containsString("operation=\"ProductResolver.getAllProducts\""))
+                .body(containsString("outcome=\"fallback\""))
+                .body(containsString("service=\"product-service\""));
+    }
+
+    @Test
+    void testOpenCircuitFallbacksAreTaggedAsFallback() {
+        String operation = "OrderResolver.getAllOrders";
+        double successBefore = operationCount(operation, "success");
+        double fallbackBefore = operationCount(operation, "fallback");
+
+        // Every attempt fails (order-service is down): three calls of four attempts each
+        // exceed requestVolumeThreshold=10 and open the circuit, so the rest never reach the body
+        int calls = 5;
+        for (int i = 0; i < calls; i++) {
+            graphqlQuery("{ orders { id } }")
+                    .statusCode(200);
+        }
+
+        assertThat(operationCount(operation, "success"), is(successBefore));
+        assertThat(operationCount(operation, "fallback"), is(fallbackBefore + calls));
+    }
+
+    @Test
+    void testPersistedQueryUnknownHashIsNotFound() {
+        String hash = PersistedQueryRegistry.sha256("{ __schema { mutationType { name } } }");
+        persistedQuery(hash, null)
+                .statusCode(200)
+                .body("errors[0].extensions.code", is("PERSISTED_QUERY_NOT_FOUND"));
+    }
+
+    @Test
+    void testPersistedQueryHashMismatchIsRejected() {
+        persistedQuery(PersistedQueryRegistry.sha256("{ __typename }"), "{ __schema { queryType { name } } }")
+                .statusCode(400)
+                .body("errors[0].extensions.code", is("PERSISTED_QUERY_HASH_MISMATCH"));
+    }
+
+    @Test
+    void testPersistedQueryIsRegisteredThenServedByHash() {
+        String query = "{ __schema { subscriptionType { name } } }";
+        String hash = PersistedQueryRegistry.sha256(query);
+
+        persistedQuery(hash, query)
+                .statusCode(200)
+                .body("data.__schema.subscriptionType.name", is("Subscription"));
+
+        persistedQuery(hash, null)
+                .statusCode(200)
+                .body("data.__schema.subscriptionType.name", is("Subscription"))
+                .body("errors", nullValue());
+    }
+
+    @Test
+    void testBatchedNestedQueryIsWithinCostBudget() {
+        graphqlQuery("{ users { orders { products { id } payment { id } } } }")
+                .statusCode(200)
+                .body(not(containsString("QUERY_COST_EXCEEDED")))
+                .body(not(containsString("QUERY_DEPTH_EXCEEDED")));
+    }
+
+    @Test
+    void testOverBudgetQueryIsRejected() {
+        graphqlQuery("{ usersConnection(first: 5000) { edges { node { id } } } }")
+                .statusCode(200)
+                .body("errors[0].extensions.code", is("QUERY_COST_EXCEEDED"))
+                .body("data", nullValue());
+    }
+
+    @Test
+    void testTooDeepQueryIsRejected() {
+        graphqlQuery("{ usersConnection(first: 1) { edges { node { orders { products { id } } } } } }")
+                .statusCode(200)
+                .body("errors[0].extensions.code", is("QUERY_DEPTH_EXCEEDED"))
+                .body("data", nullValue());
+    }
+
+    @Test
+    void testConsumedOrderEventReachesMatchingSubscribers() {
+        AssertSubscriber<Order> subscriber = broadcaster.stream(4242L, null)
+                .subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        orderEventConsumer.onOrderCreated(orderCreated(90001L, 4243L)).await().indefinitely();
+        orderEventConsumer.onOrderCreated(orderCreated(90002L, 4242L)).await().indefinitely();
+
+        subscriber.awaitItems(1, Duration.ofSeconds(5));
+        subscriber.cancel();
+        assertThat(subscriber.getItems().size(), is(1));
+        assertThat(subscriber.getItems().get(0).getId(), is(90002L));
+    }
+
     @Test
     void testInvalidQueryReturnsError() {
         graphqlQuery("{ invalidField }")
@@ -0,0 +1,133 @@
+package org.acme.gateway.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import org.acme.gateway.graphql.GraphQLConfig;
+import org.acme.gateway.graphql.GraphQLConfig.Subscriptions.Overflow;
+import org.acme.gateway.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+class OrderEventBroadcasterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private OrderEventBroadcaster broadcaster(int bufferSize, Overflow overflow) {
+        OrderEventBroadcaster broadcaster = new OrderEventBroadcaster();
+        broadcaster.config = config(Map.of(
+                "gateway.graphql.subscriptions.buffer-size", String.valueOf(bufferSize),
+                "gateway.graphql.subscriptions.overflow", overflow.name()));
+        broadcaster.registry = registry;
+        broadcaster.init();
+        return broadcaster;
+    }
+
+    /** The real mapping with its declared defaults, so every property the broadcaster reads has a value. */
+    private static GraphQLConfig config(Map<String, String> properties) {
+        return new SmallRyeConfigBuilder()
+                .withMapping(GraphQLConfig.class)
+                .withDefaultValues(properties)
+                .build()
+                .getConfigMapping(GraphQLConfig.class);
+    }
+
+    private static Order order(long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId(7L);
+        order.setStatus("PENDING");
+        return order;
+    }
+
+    private static List<Long> ids(AssertSubscriber<Order> subscriber) {
+        return subscriber.getItems().stream().map(Order::getId).toList();
+    }
+
+    private double dropped() {
+        return registry.get("gateway.subscriptions.dropped").tag("subscription", "orderCreated").counter().count();
+    }
+
+    private double queueDepth() {
+        return registry.get("gateway.subscriptions.queue.depth").gauge().value();
+    }
+
+    @Test
+    void deliversOffTheBroadcastingThread() {
+        OrderEventBroadcaster broadcaster = broadcaster(4, Overflow.DROP_OLDEST);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        AssertSubscriber<Order> subscriber = broadcaster.stream(7L, null)
+                .onItem().invoke(order -> threads.add(Thread.currentThread()))
+                .subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        broadcaster.broadcast(order(1));
+
+        subscriber.awaitItems(1, TIMEOUT);
+        assertThat(threads.contains(Thread.currentThread()), is(false));
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestEvents() {
+        OrderEventBroadcaster broadcaster = broadcaster(2, Overflow.DROP_OLDEST);
+        AssertSubscriber<Order> subscriber = broadcaster.stream(null, "pending")
+                .subscribe().withSubscriber(AssertSubscriber.create(0));
+
+        for (long id = 1; id <= 5; id++) {
+            broadcaster.broadcast(order(id));
+        }
+        assertThat(queueDepth(), is(2.0));
+        assertThat(dropped(), is(3.0));
+
+        subscriber.request(10);
+        subscriber.awaitItems(2, TIMEOUT);
+        assertThat(ids(subscriber), is(List.of(4L, 5L)));
+        assertThat(queueDepth(), is(0.0));
+    }
+
+    @Test
+    void conflateSkipsTheBacklog() {
+        OrderEventBroadcaster broadcaster = broadcaster(3, Overflow.CONFLATE);
+        AssertSubscriber<Order> subscriber = broadcaster.stream(7L, null)
+                .subscribe().withSubscriber(AssertSubscriber.create(0));
+
+        for (long id = 1; id <= 4; id++) {
+            broadcaster.broadcast(order(id));
+        }
+        assertThat(queueDepth(), is(1.0));
+        assertThat(dropped(), is(3.0));
+
+        subscriber.request(10);
+        subscriber.awaitItems(1, TIMEOUT);
+        assertThat(ids(subscriber), is(List.of(4L)));
+    }
+
+    @Test
+    void disconnectFailsTheSlowSubscriberOnly() {
+        OrderEventBroadcaster broadcaster = broadcaster(2, Overflow.DISCONNECT);
+        AssertSubscriber<Order> slow = broadcaster.stream(7L, null)
+                .subscribe().withSubscriber(AssertSubscriber.create(0));
+        AssertSubscriber<Order> fast = broadcaster.stream(null, null)
+                .subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.broadcast(order(id));
+        }
+
+        slow.awaitFailure(TIMEOUT).assertFailedWith(IllegalStateException.class, "Subscriber too slow");
+        fast.awaitItems(3, TIMEOUT);
+        assertThat(registry.get("gateway.subscriptions.disconnected").counter().count(), is(1.0));
+        assertThat(registry.get("gateway.subscriptions.active").gauge().value(), is(1.0));
+        assertThat(queueDepth(), is(0.0));
+        fast.cancel();
+    }
+}
@@ -22,7 +22,7 @@ public class OrderDTO {
         dto.status = entity.status;
         dto.totalAmount = entity.totalAmount;
         dto.createdAt = entity.createdAt;
-        dto.productIds = entity.getProductIdList();
+        dto.productIds = List.copyOf(entity.productIds);
         return dto;
     }
 }
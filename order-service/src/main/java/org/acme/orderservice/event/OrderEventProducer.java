@@ -2,9 +2,11 @@ package org.acme.orderservice.event;
 
 import io.smallrye.mutiny.Uni;
 import io.smallrye.reactive.messaging.MutinyEmitter;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
@@ -16,8 +18,15 @@ public class OrderEventProducer {
     @Channel("order-events-out")
     MutinyEmitter<OrderCreatedEvent> emitter;
 
+    /**
+     * Sends the event keyed by orderId, so every event of one order lands on the same
+     * partition and keeps its order. Completes once the broker has acked.
+     */
     public Uni<Void> sendOrderCreated(OrderCreatedEvent event) {
-        LOG.infof("Publishing OrderCreatedEvent for orderId=%d", event.orderId);
-        return emitter.send(event);
+        LOG.debugf("Publishing OrderCreatedEvent for orderId=%d", event.orderId);
+        OutgoingKafkaRecordMetadata<String> metadata = OutgoingKafkaRecordMetadata.<String>builder()
+                .withKey(String.valueOf(event.orderId))
+                .build();
+        return emitter.sendMessage(Message.of(event).addMetadata(metadata));
     }
 }
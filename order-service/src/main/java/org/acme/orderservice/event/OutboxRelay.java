@@ -0,0 +1,165 @@
+package org.acme.orderservice.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.orderservice.model.OutboxEventEntity;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox for order events. {@link #enqueue} stores the event in the
+ * caller's transaction. {@link #relay} never holds a transaction or row lock while Kafka
+ * is slow: a short transaction leases a batch of pending rows, the events are sent with
+ * no transaction open, and a second short transaction records the outcome. A row whose
+ * lease runs out (the relay died mid-send) is claimed again, so delivery is
+ * at-least-once (payment-service dedupes on orderId).
+ *
+ * A failed send is retried with exponential backoff. After max-attempts, or straight
+ * away when the payload cannot be read, the row is parked (deadAt) and never retried.
+ */
+@ApplicationScoped
+public class OutboxRelay {
+
+    private static final Logger LOG = Logger.getLogger(OutboxRelay.class);
+
+    @Inject
+    OrderEventProducer eventProducer;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "order-service.outbox.batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "order-service.outbox.lease", defaultValue = "3M")
+    Duration lease;
+
+    @ConfigProperty(name = "order-service.outbox.max-attempts", defaultValue = "10")
+    int maxAttempts;
+
+    @ConfigProperty(name = "order-service.outbox.retry-backoff", defaultValue = "1S")
+    Duration retryBackoff;
+
+    @ConfigProperty(name = "order-service.outbox.max-retry-backoff", defaultValue = "5M")
+    Duration maxRetryBackoff;
+
+    @ConfigProperty(name = "order-service.outbox.retention", defaultValue = "7D")
+    Duration retention;
+
+    /**
+     * Adds the event to the outbox. Must be called inside the transaction that wrote the
+     * order, so the two commit or roll back together.
+     */
+    public Uni<OutboxEventEntity> enqueue(OrderCreatedEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return OutboxEventEntity.of(event.orderId, OutboxEventEntity.ORDER_CREATED, payload).persist();
+    }
+
+    @Scheduled(every = "${order-service.outbox.poll-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    Uni<Void> relay() {
+        LocalDateTime now = LocalDateTime.now();
+        return Panache.withTransaction(() -> OutboxEventEntity.claimPending(batchSize, now, now.plus(lease)))
+                .chain(this::publish);
+    }
+
+    @Scheduled(every = "1h", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @WithTransaction
+    Uni<Void> purgePublished() {
+        return OutboxEventEntity.deletePublishedBefore(LocalDateTime.now().minus(retention))
+                .invoke(deleted -> {
+                    if (deleted > 0) {
+                        LOG.infof("Purged %d published outbox events", deleted);
+                    }
+                })
+                .replaceWithVoid();
+    }
+
+    private Uni<Void> publish(List<OutboxEventEntity> claimed) {
+        if (claimed.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        List<Uni<OutboxEventEntity>> sends = claimed.stream().map(this::send).toList();
+        return Uni.join().all(sends).andFailFast()
+                .chain(sent -> Panache.withTransaction(() -> record(sent)))
+                .invoke(() -> LOG.debugf("Relayed %d outbox events", claimed.size()));
+    }
+
+    /** Sends one row and records the outcome on it; never fails, so one bad row cannot stall the batch. */
+    private Uni<OutboxEventEntity> send(OutboxEventEntity entry) {
+        OrderCreatedEvent event;
+        try {
+            event = readEvent(entry);
+        } catch (IllegalStateException e) {
+            // Retrying cannot fix the payload
+            park(entry, e);
+            return Uni.createFrom().item(entry);
+        }
+        return eventProducer.sendOrderCreated(event)
+                .onItemOrFailure().transform((ignored, failure) -> {
+                    if (failure == null) {
+                        entry.markPublished(LocalDateTime.now());
+                    } else if (entry.attempts + 1 >= maxAttempts) {
+                        park(entry, failure);
+                    } else {
+                        Duration backoff = backoff(entry.attempts);
+                        entry.markFailed(failure, LocalDateTime.now().plus(backoff));
+                        LOG.warnf("Outbox event %d (orderId=%d) not published, attempt %d, retrying in %s: %s",
+                                entry.id, entry.orderId, entry.attempts, backoff, failure.getMessage());
+                    }
+                    return entry;
+                });
+    }
+
+    /** One bulk update for the published rows, one conditional update per failed row. */
+    private Uni<Void> record(List<OutboxEventEntity> sent) {
+        List<Long> published = sent.stream()
+                .filter(OutboxEventEntity::isPublished)
+                .map(entry -> entry.id)
+                .toList();
+        Uni<Void> recorded = published.isEmpty()
+                ? Uni.createFrom().voidItem()
+                : OutboxEventEntity.markAllPublished(published, LocalDateTime.now()).replaceWithVoid();
+        for (OutboxEventEntity entry : sent) {
+            if (!entry.isPublished()) {
+                recorded = recorded.chain(() -> entry.storeFailure().replaceWithVoid());
+            }
+        }
+        return recorded;
+    }
+
+    private void park(OutboxEventEntity entry, Throwable failure) {
+        entry.markDead(failure, LocalDateTime.now());
+        LOG.errorf("Outbox event %d (orderId=%d) parked after %d attempts: %s",
+                entry.id, entry.orderId, entry.attempts, failure.getMessage());
+    }
+
+    /** retry-backoff doubled per earlier failure, capped at max-retry-backoff. */
+    Duration backoff(int previousFailures) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(previousFailures, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    private OrderCreatedEvent readEvent(OutboxEventEntity entry) {
+        try {
+            return objectMapper.readValue(entry.payload, OrderCreatedEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload for event " + entry.id, e);
+        }
+    }
+}
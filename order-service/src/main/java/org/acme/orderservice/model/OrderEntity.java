@@ -1,19 +1,33 @@
 package org.acme.orderservice.model;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.quarkus.hibernate.reactive.panache.PanacheEntity;
+import io.quarkus.hibernate.reactive.panache.PanacheQuery;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_user_id", columnList = "userId"))
 public class OrderEntity extends PanacheEntity {
 
+    static final int ITEM_BATCH_SIZE = 50;
+
     public Long userId;
 
     public String status;
@@ -22,17 +36,41 @@ public class OrderEntity extends PanacheEntity {
 
     public LocalDateTime createdAt;
 
-    public String productIds;
+    /**
+     * Order lines, one row per product in order_items (order_id, line_no) with an
+     * index on product_id. Fetched eagerly, {@value #ITEM_BATCH_SIZE} orders per query,
+     * because a reactive session cannot lazy-load once the DTOs are built.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "order_items",
+            joinColumns = @JoinColumn(name = "order_id"),
+            indexes = @Index(name = "idx_order_items_product_id", columnList = "product_id"))
+    @Column(name = "product_id", nullable = false)
+    @OrderColumn(name = "line_no")
+    @BatchSize(size = ITEM_BATCH_SIZE)
+    public List<Long> productIds = new ArrayList<>();
 
-    public List<Long> getProductIdList() {
-        if (productIds == null || productIds.isBlank()) return List.of();
-        return Arrays.stream(productIds.split(","))
-                .map(String::trim)
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
+    public static Uni<List<OrderEntity>> findByUserId(Long userId) {
+        return list("userId", userId);
     }
 
-    public static List<OrderEntity> findByUserId(Long userId) {
-        return list("userId", userId);
+    public static Uni<List<OrderEntity>> findByProductId(Long productId) {
+        return list("?1 member of productIds order by id", productId);
+    }
+
+    public static Uni<List<OrderEntity>> findByUserIds(Collection<Long> userIds) {
+        return list("userId in ?1", new HashSet<>(userIds));
+    }
+
+    /**
+     * Keyset page ordered by id: up to {@code limit} rows with an id greater than
+     * {@code afterId} ({@code null} starts from the beginning). Uses the primary key
+     * index, so the cost does not grow with how deep the page is.
+     */
+    public static Uni<List<OrderEntity>> findPage(Long afterId, int limit) {
+        PanacheQuery<OrderEntity> query = afterId == null
+                ? findAll(Sort.by("id"))
+                : find("id > ?1", Sort.by("id"), afterId);
+        return query.range(0, limit - 1).list();
     }
 }
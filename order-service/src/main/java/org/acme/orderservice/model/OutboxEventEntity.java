@@ -0,0 +1,126 @@
+package org.acme.orderservice.model;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntity;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Table;
+import org.hibernate.LockOptions;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One pending domain event, stored in order_outbox by the transaction that created the
+ * order and published to Kafka later by {@link org.acme.orderservice.event.OutboxRelay}.
+ *
+ * A row is pending until it is published or parked ({@code deadAt}). While a relay is
+ * sending it the row is leased ({@code claimedUntil}); after a failed send it waits for
+ * {@code nextAttemptAt}.
+ */
+@Entity
+@Table(name = "order_outbox")
+public class OutboxEventEntity extends PanacheEntity {
+
+    public static final String ORDER_CREATED = "OrderCreated";
+
+    static final int MAX_ERROR_LENGTH = 1000;
+
+    public Long orderId;
+
+    public String eventType;
+
+    @Column(columnDefinition = "text")
+    public String payload;
+
+    public LocalDateTime createdAt;
+
+    public LocalDateTime publishedAt;
+
+    public int attempts;
+
+    public LocalDateTime claimedUntil;
+
+    public LocalDateTime nextAttemptAt;
+
+    public LocalDateTime deadAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    public String lastError;
+
+    public static OutboxEventEntity of(Long orderId, String eventType, String payload) {
+        OutboxEventEntity entity = new OutboxEventEntity();
+        entity.orderId = orderId;
+        entity.eventType = eventType;
+        entity.payload = payload;
+        entity.createdAt = LocalDateTime.now();
+        return entity;
+    }
+
+    /**
+     * Leases the oldest pending events that are due at {@code now} until {@code leaseUntil}
+     * and returns them. Must run in a short transaction of its own: rows are locked FOR
+     * UPDATE SKIP LOCKED only while they are claimed, so several order-service replicas
+     * can relay concurrently without claiming the same row, and no lock is held while
+     * the events are sent.
+     */
+    public static Uni<List<OutboxEventEntity>> claimPending(int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        Uni<List<OutboxEventEntity>> due = find("publishedAt is null and deadAt is null"
+                        + " and (claimedUntil is null or claimedUntil < ?1)"
+                        + " and (nextAttemptAt is null or nextAttemptAt <= ?1)", Sort.by("id"), now)
+                .withLock(LockModeType.PESSIMISTIC_WRITE)
+                .withHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                .range(0, limit - 1)
+                .list();
+        return due.invoke(rows -> rows.forEach(row -> row.claimedUntil = leaseUntil));
+    }
+
+    public static Uni<Integer> markAllPublished(Collection<Long> ids, LocalDateTime publishedAt) {
+        return update("publishedAt = ?1, claimedUntil = null, lastError = null where id in ?2", publishedAt, ids);
+    }
+
+    public static Uni<Long> deletePublishedBefore(LocalDateTime cutoff) {
+        return delete("publishedAt < ?1", cutoff);
+    }
+
+    /**
+     * Writes this failed attempt back (attempts, error, retry time or parking) and releases
+     * the lease, unless the row was published meanwhile by a relay that re-claimed it.
+     */
+    public Uni<Integer> storeFailure() {
+        return update("attempts = ?1, lastError = ?2, claimedUntil = null, nextAttemptAt = ?3, deadAt = ?4"
+                + " where id = ?5 and publishedAt is null", attempts, lastError, nextAttemptAt, deadAt, id);
+    }
+
+    public boolean isPublished() {
+        return publishedAt != null;
+    }
+
+    public void markPublished(LocalDateTime now) {
+        publishedAt = now;
+        claimedUntil = null;
+        lastError = null;
+    }
+
+    /** Releases the lease and schedules the next attempt. */
+    public void markFailed(Throwable failure, LocalDateTime nextAttemptAt) {
+        recordFailure(failure);
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /** Parks the event: it stays in the table but is never retried. */
+    public void markDead(Throwable failure, LocalDateTime now) {
+        recordFailure(failure);
+        deadAt = now;
+    }
+
+    private void recordFailure(Throwable failure) {
+        attempts++;
+        claimedUntil = null;
+        String message = String.valueOf(failure.getMessage());
+        lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -1,81 +1,177 @@
 package org.acme.orderservice.resource;
 
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.acme.common.dto.PageDTO;
 import org.acme.orderservice.dto.CreateOrderRequest;
 import org.acme.orderservice.dto.OrderDTO;
 import org.acme.orderservice.event.OrderCreatedEvent;
-import org.acme.orderservice.event.OrderEventProducer;
+import org.acme.orderservice.event.OutboxRelay;
 import org.acme.orderservice.model.OrderEntity;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.Separator;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Order endpoints on Hibernate Reactive: every method returns a {@link Uni} (or {@link Multi})
+ * and runs on the Vert.x event loop, so a burst of gateway fan-out waits on the reactive
+ * PostgreSQL pool rather than holding a worker thread per request.
+ */
 @Path("/orders")
 @Produces(MediaType.APPLICATION_JSON)
 public class OrderResource {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     @Inject
-    OrderEventProducer eventProducer;
+    OutboxRelay outbox;
+
+    @ConfigProperty(name = "order-service.stream.chunk-size", defaultValue = "500")
+    int streamChunkSize;
 
     @GET
-    public List<OrderDTO> getAll() {
-        return OrderEntity.listAll().stream()
-                .map(e -> OrderDTO.from((OrderEntity) e))
-                .collect(Collectors.toList());
+    @WithSession
+    public Uni<List<OrderDTO>> getAll() {
+        return OrderEntity.<OrderEntity>listAll().map(OrderResource::toDTOs);
+    }
+
+    /**
+     * Keyset page ordered by id, starting after the {@code after} id (exclusive).
+     * {@code limit} is clamped to 1..100; pass the last item's id as {@code after}
+     * to continue while {@code hasNext} is true.
+     */
+    @GET
+    @Path("/page")
+    @WithSession
+    public Uni<PageDTO<OrderDTO>> getPage(@QueryParam("after") Long after,
+                                          @QueryParam("limit") @DefaultValue("20") int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return OrderEntity.findPage(after, size + 1)
+                .map(rows -> PageDTO.of(toDTOs(rows), size));
+    }
+
+    /**
+     * Streams every order as NDJSON (one JSON object per line) in id order.
+     * Rows are read in keyset chunks, each in its own short reactive session, only as
+     * the client asks for more, so neither side holds the whole table and the first
+     * rows leave at once.
+     */
+    @GET
+    @Path("/stream")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<OrderDTO> streamAll() {
+        return Multi.createBy().repeating()
+                .uni(AtomicLong::new, this::nextChunk)
+                .whilst(chunk -> chunk.size() == streamChunkSize)
+                .onItem().disjoint();
+    }
+
+    private Uni<List<OrderDTO>> nextChunk(AtomicLong lastId) {
+        return Panache.withSession(() -> OrderEntity.findPage(lastId.get(), streamChunkSize))
+                .map(rows -> {
+                    if (!rows.isEmpty()) {
+                        lastId.set(rows.get(rows.size() - 1).id);
+                    }
+                    return toDTOs(rows);
+                });
     }
 
     @GET
     @Path("/{id}")
-    public Response getById(@PathParam("id") Long id) {
-        OrderEntity entity = OrderEntity.findById(id);
-        if (entity == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
-        }
-        return Response.ok(OrderDTO.from(entity)).build();
+    @WithSession
+    public Uni<Response> getById(@PathParam("id") Long id) {
+        return OrderEntity.<OrderEntity>findById(id)
+                .map(entity -> entity == null
+                        ? Response.status(Response.Status.NOT_FOUND).build()
+                        : Response.ok(OrderDTO.from(entity)).build());
     }
 
     @GET
     @Path("/user/{userId}")
-    public List<OrderDTO> getByUserId(@PathParam("userId") Long userId) {
-        return OrderEntity.findByUserId(userId).stream()
-                .map(OrderDTO::from)
-                .collect(Collectors.toList());
+    @WithSession
+    public Uni<List<OrderDTO>> getByUserId(@PathParam("userId") Long userId) {
+        return OrderEntity.findByUserId(userId).map(OrderResource::toDTOs);
+    }
+
+    /**
+     * Orders that contain the given product, served by the order_items product_id index.
+     */
+    @GET
+    @Path("/product/{productId}")
+    @WithSession
+    public Uni<List<OrderDTO>> getByProductId(@PathParam("productId") Long productId) {
+        return OrderEntity.findByProductId(productId).map(OrderResource::toDTOs);
+    }
+
+    /**
+     * Bulk lookup by user ids (repeated or comma-separated) with a single query.
+     * Orders are grouped by userId in the order the ids were requested; users
+     * without orders map to an empty list.
+     */
+    @GET
+    @Path("/users")
+    @WithSession
+    public Uni<Map<Long, List<OrderDTO>>> getByUserIds(@QueryParam("ids") @Separator(",") List<Long> userIds) {
+        Map<Long, List<OrderDTO>> grouped = new LinkedHashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return Uni.createFrom().item(grouped);
+        }
+        userIds.forEach(userId -> grouped.put(userId, new ArrayList<>()));
+        return OrderEntity.findByUserIds(userIds).map(rows -> {
+            for (OrderEntity entity : rows) {
+                grouped.get(entity.userId).add(OrderDTO.from(entity));
+            }
+            return grouped;
+        });
     }
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
-    @Transactional
-    public Response createOrder(CreateOrderRequest request) {
+    @WithTransaction
+    public Uni<Response> createOrder(CreateOrderRequest request) {
         OrderEntity entity = new OrderEntity();
         entity.userId = request.userId;
         entity.totalAmount = request.totalAmount;
         entity.status = "PENDING";
         entity.createdAt = LocalDateTime.now();
-        entity.productIds = request.productIds != null
-                ? request.productIds.stream().map(String::valueOf).collect(Collectors.joining(","))
-                : "";
-        entity.persist();
-
-        OrderCreatedEvent event = new OrderCreatedEvent(
-                entity.id,
-                entity.userId,
-                entity.totalAmount,
-                entity.status,
-                entity.createdAt,
-                entity.getProductIdList()
-        );
-        eventProducer.sendOrderCreated(event).subscribe().with(
-                success -> {},
-                failure -> {}
-        );
-
-        return Response.status(Response.Status.CREATED)
-                .entity(OrderDTO.from(entity))
-                .build();
+        if (request.productIds != null) {
+            entity.productIds.addAll(request.productIds);
+        }
+        // The event goes to the outbox in this transaction; OutboxRelay publishes it
+        return entity.<OrderEntity>persist()
+                .call(saved -> outbox.enqueue(new OrderCreatedEvent(
+                        saved.id,
+                        saved.userId,
+                        saved.totalAmount,
+                        saved.status,
+                        saved.createdAt,
+                        List.copyOf(saved.productIds)
+                )))
+                .map(saved -> Response.status(Response.Status.CREATED)
+                        .entity(OrderDTO.from(saved))
+                        .build());
+    }
+
+    private static List<OrderDTO> toDTOs(List<OrderEntity> entities) {
+        return entities.stream()
+                .map(OrderDTO::from)
+                .collect(Collectors.toList());
     }
 }
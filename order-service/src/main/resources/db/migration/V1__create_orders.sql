@@ -0,0 +1,29 @@
+-- ══════════════════════════════════════════════════════════════
+-- QuarkGate Order Service - Schema
+-- ══════════════════════════════════════════════════════════════
+
+-- Hibernate's pooled sequence optimizer hands out 50 ids per round trip
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE orders (
+    id          BIGINT NOT NULL,
+    userId      BIGINT,
+    status      VARCHAR(255),
+    totalAmount NUMERIC(38, 2),
+    createdAt   TIMESTAMP(6),
+    CONSTRAINT orders_pkey PRIMARY KEY (id)
+);
+
+-- OrderEntity.findByUserId / findByUserIds (User.orders resolution)
+CREATE INDEX idx_orders_user_id ON orders (userId);
+
+CREATE TABLE order_items (
+    order_id   BIGINT  NOT NULL,
+    line_no    INTEGER NOT NULL,
+    product_id BIGINT  NOT NULL,
+    CONSTRAINT order_items_pkey PRIMARY KEY (order_id, line_no),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+-- OrderEntity.findByProductId ("orders containing product X")
+CREATE INDEX idx_order_items_product_id ON order_items (product_id);
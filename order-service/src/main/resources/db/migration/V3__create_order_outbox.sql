@@ -0,0 +1,22 @@
+-- ══════════════════════════════════════════════════════════════
+-- QuarkGate Order Service - Transactional Outbox
+-- Rows are written in the same transaction as the order and relayed
+-- to Kafka by OutboxRelay; publishedAt marks what has been acked.
+-- ══════════════════════════════════════════════════════════════
+
+CREATE SEQUENCE order_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_outbox (
+    id          BIGINT       NOT NULL,
+    orderId     BIGINT       NOT NULL,
+    eventType   VARCHAR(64)  NOT NULL,
+    payload     TEXT         NOT NULL,
+    createdAt   TIMESTAMP(6) NOT NULL,
+    publishedAt TIMESTAMP(6),
+    attempts    INTEGER      NOT NULL DEFAULT 0,
+    lastError   VARCHAR(1000),
+    CONSTRAINT order_outbox_pkey PRIMARY KEY (id)
+);
+
+-- The relay only ever scans the pending tail, in id order
+CREATE INDEX idx_order_outbox_pending ON order_outbox (id) WHERE publishedAt IS NULL;
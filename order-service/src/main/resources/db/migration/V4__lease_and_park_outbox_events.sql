@@ -0,0 +1,15 @@
+-- ══════════════════════════════════════════════════════════════
+-- QuarkGate Order Service - Outbox leases, retry backoff, parking
+-- claimedUntil: a relay has the row leased until then (publishing outside
+--               the claiming transaction); expired leases are reclaimed
+-- nextAttemptAt: earliest retry after a failed send (exponential backoff)
+-- deadAt:        parked after max attempts or an unreadable payload;
+--                never retried, kept for inspection
+-- ══════════════════════════════════════════════════════════════
+
+ALTER TABLE order_outbox ADD COLUMN claimedUntil  TIMESTAMP(6);
+ALTER TABLE order_outbox ADD COLUMN nextAttemptAt TIMESTAMP(6);
+ALTER TABLE order_outbox ADD COLUMN deadAt        TIMESTAMP(6);
+
+DROP INDEX idx_order_outbox_pending;
+CREATE INDEX idx_order_outbox_pending ON order_outbox (id) WHERE publishedAt IS NULL AND deadAt IS NULL;
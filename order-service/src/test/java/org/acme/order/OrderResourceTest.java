@@ -4,7 +4,9 @@ import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.Test;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 @QuarkusTest
@@ -62,6 +64,18 @@ public class OrderResourceTest {
             .body("$.size()", is(0));
     }
 
+    @Test
+    void testGetOrdersByUserIdsGroupsByUser() {
+        given()
+            .when().get("/orders/users?ids=1,2,999")
+            .then()
+            .statusCode(200)
+            .body("'1'.size()", is(3))
+            .body("'1'.userId", everyItem(is(1)))
+            .body("'2'.size()", is(2))
+            .body("'999'.size()", is(0));
+    }
+
     @Test
     void testOrderDtoHasProductIds() {
         given()
@@ -102,4 +116,41 @@ public class OrderResourceTest {
             .statusCode(200)
             .body("createdAt", notNullValue());
     }
+
+    @Test
+    void testGetOrdersPage() {
+        given()
+            .queryParam("limit", 2)
+            .when().get("/orders/page")
+            .then()
+            .statusCode(200)
+            .body("items.id", contains(1, 2))
+            .body("items[0].productIds", notNullValue())
+            .body("hasNext", is(true));
+    }
+
+    @Test
+    void testStreamOrdersAsNdjson() {
+        String body = given()
+            .accept("application/x-ndjson")
+            .when().get("/orders/stream")
+            .then()
+            .statusCode(200)
+            .contentType(containsString("application/x-ndjson"))
+            .extract().asString();
+
+        String[] lines = body.trim().split("\n");
+        assertThat(lines.length, greaterThanOrEqualTo(16));
+        assertThat(lines[0], containsString("\"id\":1"));
+    }
+
+    @Test
+    void testGetOrdersContainingProduct() {
+        given()
+            .when().get("/orders/product/11")
+            .then()
+            .statusCode(200)
+            .body("id", hasItems(3, 12, 16))
+            .body("productIds.flatten()", hasItem(11));
+    }
 }
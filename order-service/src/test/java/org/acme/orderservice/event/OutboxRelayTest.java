@@ -0,0 +1,113 @@
+package org.acme.orderservice.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.vertx.VertxContextSupport;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import org.acme.orderservice.model.OutboxEventEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+/**
+ * Drives {@link OutboxRelay#relay()} by hand (the scheduler is off in tests) against the
+ * DevServices database and Kafka broker.
+ */
+@QuarkusTest
+public class OutboxRelayTest {
+
+    @Inject
+    OutboxRelay relay;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    void testPublishedEventIsMarkedAndReleased() throws Throwable {
+        OutboxEventEntity row = persist(event(9001L));
+
+        await(relay::relay);
+
+        OutboxEventEntity stored = load(row.id);
+        assertThat(stored.publishedAt, notNullValue());
+        assertThat(stored.claimedUntil, nullValue());
+        assertThat(stored.attempts, is(0));
+    }
+
+    @Test
+    void testUnreadablePayloadIsParkedAndNotRetried() throws Throwable {
+        OutboxEventEntity row = persist(OutboxEventEntity.of(9002L, OutboxEventEntity.ORDER_CREATED, "{not json"));
+
+        await(relay::relay);
+        await(relay::relay);
+
+        OutboxEventEntity stored = load(row.id);
+        assertThat(stored.deadAt, notNullValue());
+        assertThat(stored.publishedAt, nullValue());
+        assertThat(stored.attempts, is(1));
+        assertThat(stored.lastError, containsString("Unreadable outbox payload"));
+    }
+
+    @Test
+    void testLeasedEventIsSkippedUntilTheLeaseExpires() throws Throwable {
+        OutboxEventEntity leased = event(9003L);
+        leased.claimedUntil = LocalDateTime.now().plusHours(1);
+        OutboxEventEntity row = persist(leased);
+
+        await(relay::relay);
+        assertThat(load(row.id).publishedAt, nullValue());
+
+        await(() -> Panache.withTransaction(() -> OutboxEventEntity
+                .update("claimedUntil = ?1 where id = ?2", LocalDateTime.now().minusSeconds(1), row.id)));
+        await(relay::relay);
+        assertThat(load(row.id).publishedAt, notNullValue());
+    }
+
+    @Test
+    void testEventWaitingForRetryIsSkipped() throws Throwable {
+        OutboxEventEntity failed = event(9004L);
+        failed.attempts = 3;
+        failed.nextAttemptAt = LocalDateTime.now().plusHours(1);
+        OutboxEventEntity row = persist(failed);
+
+        await(relay::relay);
+
+        OutboxEventEntity stored = load(row.id);
+        assertThat(stored.publishedAt, nullValue());
+        assertThat(stored.attempts, is(3));
+    }
+
+    @Test
+    void testBackoffDoublesUpToTheCap() {
+        assertThat(relay.backoff(0), is(Duration.ofSeconds(1)));
+        assertThat(relay.backoff(3), is(Duration.ofSeconds(8)));
+        assertThat(relay.backoff(30), is(Duration.ofMinutes(5)));
+    }
+
+    private OutboxEventEntity event(Long orderId) throws Exception {
+        OrderCreatedEvent event = new OrderCreatedEvent(orderId, 1L, new BigDecimal("10.00"),
+                "PENDING", LocalDateTime.now(), List.of(1L));
+        return OutboxEventEntity.of(orderId, OutboxEventEntity.ORDER_CREATED, objectMapper.writeValueAsString(event));
+    }
+
+    private static OutboxEventEntity persist(OutboxEventEntity row) throws Throwable {
+        return await(() -> Panache.withTransaction(row::persist));
+    }
+
+    private static OutboxEventEntity load(Long id) throws Throwable {
+        return await(() -> Panache.withSession(() -> OutboxEventEntity.findById(id)));
+    }
+
+    private static <T> T await(Supplier<Uni<T>> action) throws Throwable {
+        return VertxContextSupport.subscribeAndAwait(action);
+    }
+}
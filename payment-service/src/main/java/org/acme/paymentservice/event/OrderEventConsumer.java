@@ -1,37 +1,130 @@
 package org.acme.paymentservice.event;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.reactive.messaging.annotations.Blocking;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.transaction.Transactional;
+import jakarta.inject.Inject;
 import org.acme.paymentservice.model.PaymentEntity;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class OrderEventConsumer {
 
     private static final Logger LOG = Logger.getLogger(OrderEventConsumer.class);
 
+    static final String DEAD_LETTER_REASON = "dead-letter-reason";
+
+    @Inject
+    @Channel("order-events-dlq")
+    Emitter<OrderCreatedEvent> deadLetters;
+
+    /**
+     * Handles one Kafka poll as a batch (the channel runs with {@code batch=true}):
+     * orders that already have a payment are found with one query and the new payments
+     * are inserted with JDBC batching in a single transaction; the batch offsets are
+     * committed once this returns.
+     *
+     * One bad record must not cost the whole poll: malformed events are dead-lettered
+     * before the insert, and if the batch insert still fails the events are retried one
+     * transaction each, so only the events that fail on their own are dead-lettered.
+     */
     @Incoming("order-events-in")
-    @Transactional
-    public void onOrderCreated(OrderCreatedEvent event) {
-        LOG.infof("Received OrderCreatedEvent for orderId=%d, amount=%s", event.orderId, event.totalAmount);
+    @Blocking
+    public void onOrdersCreated(List<OrderCreatedEvent> events) {
+        // Events are delivered at-least-once, so the same order may appear twice in a batch
+        Map<Long, OrderCreatedEvent> byOrderId = new LinkedHashMap<>();
+        int empty = 0;
+        int duplicates = 0;
+        int deadLettered = 0;
+        for (OrderCreatedEvent event : events) {
+            if (event == null) {
+                LOG.warn("Skipping empty OrderCreatedEvent");
+                empty++;
+            } else if (event.orderId == null || event.totalAmount == null) {
+                deadLetter(event, "orderId and totalAmount are required");
+                deadLettered++;
+            } else if (byOrderId.putIfAbsent(event.orderId, event) != null) {
+                duplicates++;
+            }
+        }
 
-        PaymentEntity existing = PaymentEntity.findByOrderId(event.orderId);
-        if (existing != null) {
-            LOG.warnf("Payment already exists for orderId=%d, skipping", event.orderId);
+        int created = 0;
+        int failed = 0;
+        if (byOrderId.isEmpty()) {
+            logBatch(events.size(), created, duplicates, deadLettered, empty);
             return;
         }
+        try {
+            created = QuarkusTransaction.requiringNew().call(() -> createPayments(byOrderId.values()));
+        } catch (RuntimeException batchFailure) {
+            LOG.warnf("Batch of %d payments failed (%s), retrying one by one",
+                    byOrderId.size(), batchFailure.getMessage());
+            for (OrderCreatedEvent event : byOrderId.values()) {
+                try {
+                    created += QuarkusTransaction.requiringNew().call(() -> createPayments(List.of(event)));
+                } catch (RuntimeException failure) {
+                    deadLetter(event, String.valueOf(failure.getMessage()));
+                    failed++;
+                }
+            }
+        }
+        // Whatever was neither inserted nor dead-lettered already had a payment
+        duplicates += byOrderId.size() - created - failed;
+        logBatch(events.size(), created, duplicates, deadLettered + failed, empty);
+    }
 
-        PaymentEntity payment = new PaymentEntity();
-        payment.orderId = event.orderId;
-        payment.amount = event.totalAmount;
-        payment.method = "CARD";
-        payment.status = "PENDING";
-        payment.processedAt = LocalDateTime.now();
-        payment.persist();
+    private static void logBatch(int received, int created, int duplicates, int deadLettered, int empty) {
+        LOG.infof("Received %d OrderCreatedEvents: created %d payments, %d duplicates, %d dead-lettered, %d empty",
+                received, created, duplicates, deadLettered, empty);
+    }
+
+    /** Inserts a payment for every event whose order has none yet; returns how many. */
+    int createPayments(Collection<OrderCreatedEvent> events) {
+        Set<Long> existing = PaymentEntity.findByOrderIds(events.stream().map(e -> e.orderId).toList()).stream()
+                .map(p -> p.orderId)
+                .collect(Collectors.toSet());
+
+        List<PaymentEntity> payments = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (OrderCreatedEvent event : events) {
+            if (existing.contains(event.orderId)) {
+                LOG.warnf("Payment already exists for orderId=%d, skipping", event.orderId);
+                continue;
+            }
+            PaymentEntity payment = new PaymentEntity();
+            payment.orderId = event.orderId;
+            payment.amount = event.totalAmount;
+            payment.method = "CARD";
+            payment.status = "PENDING";
+            payment.processedAt = now;
+            payments.add(payment);
+        }
+        PaymentEntity.persist(payments);
+        return payments.size();
+    }
 
-        LOG.infof("Created payment id=%d for orderId=%d", payment.id, event.orderId);
+    private void deadLetter(OrderCreatedEvent event, String reason) {
+        LOG.errorf("Dead-lettering OrderCreatedEvent orderId=%s: %s", event.orderId, reason);
+        OutgoingKafkaRecordMetadata<String> metadata = OutgoingKafkaRecordMetadata.<String>builder()
+                .withKey(String.valueOf(event.orderId))
+                .withHeaders(new RecordHeaders().add(DEAD_LETTER_REASON, reason.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        deadLetters.send(Message.of(event).addMetadata(metadata));
     }
 }
@@ -1,16 +1,22 @@
 package org.acme.paymentservice.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", uniqueConstraints = @UniqueConstraint(name = "uk_payments_order_id", columnNames = "orderId"))
 public class PaymentEntity extends PanacheEntity {
 
+    @Column(nullable = false)
     public Long orderId;
 
     public BigDecimal amount;
@@ -24,4 +30,8 @@ public class PaymentEntity extends PanacheEntity {
     public static PaymentEntity findByOrderId(Long orderId) {
         return find("orderId", orderId).firstResult();
     }
+
+    public static List<PaymentEntity> findByOrderIds(Collection<Long> orderIds) {
+        return list("orderId in ?1", new HashSet<>(orderIds));
+    }
 }
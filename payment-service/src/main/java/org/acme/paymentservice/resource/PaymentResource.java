@@ -1,17 +1,47 @@
 package org.acme.paymentservice.resource;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.acme.paymentservice.model.PaymentEntity;
+import org.jboss.resteasy.reactive.Separator;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs on virtual threads, or on the worker pool when built with the {@code worker-pool}
+ * Maven profile.
+ */
+@RunOnVirtualThread
 @Path("/payments")
 @Produces(MediaType.APPLICATION_JSON)
 public class PaymentResource {
 
+    /**
+     * Bulk lookup by order ids (repeated or comma-separated) with a single query.
+     * The response follows the order of the requested ids and holds {@code null}
+     * for orders that have no payment yet.
+     */
+    @GET
+    public List<PaymentEntity> getByOrderIds(@QueryParam("orderIds") @Separator(",") List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PaymentEntity> byOrderId = PaymentEntity.findByOrderIds(orderIds).stream()
+                .collect(Collectors.toMap(p -> p.orderId, Function.identity(), (first, second) -> first));
+        return orderIds.stream()
+                .map(byOrderId::get)
+                .collect(Collectors.toList());
+    }
+
     @GET
     @Path("/order/{orderId}")
     public Response getByOrderId(@PathParam("orderId") Long orderId) {
@@ -0,0 +1,19 @@
+-- ══════════════════════════════════════════════════════════════
+-- QuarkGate Payment Service - Schema
+-- ══════════════════════════════════════════════════════════════
+
+-- Hibernate's pooled sequence optimizer hands out 50 ids per round trip
+CREATE SEQUENCE payments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE payments (
+    id          BIGINT NOT NULL,
+    orderId     BIGINT NOT NULL,
+    amount      NUMERIC(38, 2),
+    method      VARCHAR(255),
+    status      VARCHAR(255),
+    processedAt TIMESTAMP(6),
+    CONSTRAINT payments_pkey PRIMARY KEY (id),
+    -- One payment per order: backs the idempotency check in OrderEventConsumer
+    -- and doubles as the index for findByOrderId / findByOrderIds
+    CONSTRAINT uk_payments_order_id UNIQUE (orderId)
+);
@@ -0,0 +1,91 @@
+package org.acme.payment;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.acme.paymentservice.event.OrderCreatedEvent;
+import org.acme.paymentservice.event.OrderEventConsumer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Feeds batches straight into the consumer, as the Kafka connector would with batch=true.
+ */
+@QuarkusTest
+public class OrderEventConsumerTest {
+
+    @Inject
+    OrderEventConsumer consumer;
+
+    @Test
+    void testBatchSkipsDuplicatesAndExistingPayments() {
+        consumer.onOrdersCreated(List.of(
+                event(7001L, "100.00"),
+                event(7001L, "200.00"),
+                event(1L, "1.00"),
+                event(7003L, "300.00")));
+
+        given()
+            .when().get("/payments?orderIds=7001,7003")
+            .then()
+            .statusCode(200)
+            .body("$", hasSize(2))
+            .body("find { it.orderId == 7001 }.amount", is(100.0f))
+            .body("find { it.orderId == 7003 }.status", is("PENDING"));
+
+        // The seeded payment of order 1 is left alone
+        given()
+            .when().get("/payments/order/1")
+            .then()
+            .statusCode(200)
+            .body("method", is("CREDIT_CARD"))
+            .body("status", is("SUCCESS"));
+    }
+
+    @Test
+    void testMalformedEventDoesNotCostTheBatch() {
+        OrderCreatedEvent missingAmount = event(7102L, "1.00");
+        missingAmount.totalAmount = null;
+
+        consumer.onOrdersCreated(List.of(event(7101L, "10.00"), missingAmount, event(7103L, "30.00")));
+
+        given()
+            .when().get("/payments?orderIds=7101,7102,7103")
+            .then()
+            .statusCode(200)
+            .body("orderId", hasItems(7101, 7103))
+            .body("orderId", not(hasItem(7102)));
+    }
+
+    @Test
+    void testFailedInsertFallsBackToOneTransactionPerEvent() {
+        // Overflows NUMERIC(38, 2): valid on the wire, rejected only by the insert
+        OrderCreatedEvent overflowing = event(7202L, "1e40");
+
+        consumer.onOrdersCreated(List.of(event(7201L, "10.00"), overflowing, event(7203L, "30.00")));
+
+        given()
+            .when().get("/payments?orderIds=7201,7202,7203")
+            .then()
+            .statusCode(200)
+            .body("orderId", hasItems(7201, 7203))
+            .body("orderId", not(hasItem(7202)));
+    }
+
+    private static OrderCreatedEvent event(Long orderId, String amount) {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.orderId = orderId;
+        event.userId = 1L;
+        event.totalAmount = new BigDecimal(amount);
+        event.status = "PENDING";
+        event.createdAt = LocalDateTime.now();
+        event.productIds = List.of(1L);
+        return event;
+    }
+}
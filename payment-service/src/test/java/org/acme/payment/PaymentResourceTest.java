@@ -94,4 +94,17 @@ public class PaymentResourceTest {
             .body("method", is("NET_BANKING"))
             .body("status", is("SUCCESS"));
     }
+
+    @Test
+    void testGetPaymentsByOrderIds() {
+        given()
+            .when().get("/payments?orderIds=2,1,999")
+            .then()
+            .statusCode(200)
+            .body("$.size()", is(3))
+            .body("[0].orderId", is(2))
+            .body("[0].method", is("UPI"))
+            .body("[1].orderId", is(1))
+            .body("[2]", nullValue());
+    }
 }
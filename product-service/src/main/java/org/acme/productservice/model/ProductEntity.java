@@ -1,9 +1,14 @@
 package org.acme.productservice.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.panache.common.Sort;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 
 @Entity
 @Table(name = "products")
@@ -14,4 +19,20 @@ public class ProductEntity extends PanacheEntity {
     public BigDecimal price;
     public Integer stockQuantity;
     public String category;
+
+    public static List<ProductEntity> findByIds(Collection<Long> ids) {
+        return list("id in ?1", new HashSet<>(ids));
+    }
+
+    /**
+     * Keyset page ordered by id: up to {@code limit} rows with an id greater than
+     * {@code afterId} ({@code null} starts from the beginning). Uses the primary key
+     * index, so the cost does not grow with how deep the page is.
+     */
+    public static List<ProductEntity> findPage(Long afterId, int limit) {
+        PanacheQuery<ProductEntity> query = afterId == null
+                ? findAll(Sort.by("id"))
+                : find("id > ?1", Sort.by("id"), afterId);
+        return query.range(0, limit - 1).list();
+    }
 }
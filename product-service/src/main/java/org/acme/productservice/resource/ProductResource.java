@@ -1,22 +1,62 @@
 package org.acme.productservice.resource;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.acme.common.dto.PageDTO;
 import org.acme.productservice.model.ProductEntity;
+import org.jboss.resteasy.reactive.Separator;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Runs on virtual threads (or the worker pool with the {@code worker-pool} build profile); the JDBC calls
+ * stay blocking, only the thread that waits on them is cheap.
+ */
+@RunOnVirtualThread
 @Path("/products")
 @Produces(MediaType.APPLICATION_JSON)
 public class ProductResource {
 
+    static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Lists all products, or — when {@code ids} is given (repeated or comma-separated) —
+     * fetches just those products with a single query. The bulk response follows the
+     * order of the requested ids and holds {@code null} for ids that do not exist.
+     */
+    @GET
+    public List<ProductEntity> getAllProducts(@QueryParam("ids") @Separator(",") List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return ProductEntity.listAll();
+        }
+        Map<Long, ProductEntity> byId = ProductEntity.findByIds(ids).stream()
+                .collect(Collectors.toMap(p -> p.id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset page ordered by id, starting after the {@code after} id (exclusive).
+     * {@code limit} is clamped to 1..100; pass the last item's id as {@code after}
+     * to continue while {@code hasNext} is true.
+     */
     @GET
-    public List<ProductEntity> getAllProducts() {
-        return ProductEntity.listAll();
+    @Path("/page")
+    public PageDTO<ProductEntity> getPage(@QueryParam("after") Long after,
+                                          @QueryParam("limit") @DefaultValue("20") int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return PageDTO.of(ProductEntity.findPage(after, size + 1), size);
     }
 
     @GET
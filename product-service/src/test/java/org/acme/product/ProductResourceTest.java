@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 @QuarkusTest
@@ -72,4 +73,38 @@ public class ProductResourceTest {
             .statusCode(200)
             .body("category", hasItems("Electronics", "Accessories", "Software", "Peripherals"));
     }
+
+    @Test
+    void testGetProductsByIdsPreservesRequestOrder() {
+        given()
+            .when().get("/products?ids=3,1,2")
+            .then()
+            .statusCode(200)
+            .body("$.size()", is(3))
+            .body("id", contains(3, 1, 2));
+    }
+
+    @Test
+    void testGetProductsByIdsLeavesGapsForMisses() {
+        given()
+            .when().get("/products?ids=1&ids=999&ids=5")
+            .then()
+            .statusCode(200)
+            .body("$.size()", is(3))
+            .body("[0].name", is("Wireless Mouse"))
+            .body("[1]", nullValue())
+            .body("[2].name", is("Bluetooth Earbuds"));
+    }
+
+    @Test
+    void testGetProductsPageStartsAfterCursor() {
+        given()
+            .queryParam("after", 4)
+            .queryParam("limit", 2)
+            .when().get("/products/page")
+            .then()
+            .statusCode(200)
+            .body("items.id", contains(5, 6))
+            .body("hasNext", is(true));
+    }
 }
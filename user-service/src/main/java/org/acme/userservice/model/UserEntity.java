@@ -1,10 +1,13 @@
 package org.acme.userservice.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.panache.common.Sort;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "users")
@@ -14,4 +17,16 @@ public class UserEntity extends PanacheEntity {
     public String email;
     public String fullName;
     public LocalDateTime createdAt;
+
+    /**
+     * Keyset page ordered by id: up to {@code limit} rows with an id greater than
+     * {@code afterId} ({@code null} starts from the beginning). Uses the primary key
+     * index, so the cost does not grow with how deep the page is.
+     */
+    public static List<UserEntity> findPage(Long afterId, int limit) {
+        PanacheQuery<UserEntity> query = afterId == null
+                ? findAll(Sort.by("id"))
+                : find("id > ?1", Sort.by("id"), afterId);
+        return query.range(0, limit - 1).list();
+    }
 }
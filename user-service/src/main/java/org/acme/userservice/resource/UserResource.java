@@ -1,24 +1,49 @@
 package org.acme.userservice.resource;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import org.acme.common.dto.PageDTO;
 import org.acme.userservice.model.UserEntity;
 
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
 
+/**
+ * Blocking Panache endpoints that run on virtual threads: a gateway fan-out burst parks
+ * cheap threads on the connection pool instead of exhausting the worker pool. A build with
+ * the {@code worker-pool} Maven profile runs them on workers again.
+ */
+@RunOnVirtualThread
 @Path("/users")
 @Produces(MediaType.APPLICATION_JSON)
 public class UserResource {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     @GET
     public List<UserEntity> getAllUsers() {
         return UserEntity.listAll();
     }
 
+    /**
+     * Keyset page ordered by id, starting after the {@code after} id (exclusive).
+     * {@code limit} is clamped to 1..100; pass the last item's id as {@code after}
+     * to continue while {@code hasNext} is true.
+     */
+    @GET
+    @Path("/page")
+    public PageDTO<UserEntity> getPage(@QueryParam("after") Long after,
+                                       @QueryParam("limit") @DefaultValue("20") int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return PageDTO.of(UserEntity.findPage(after, size + 1), size);
+    }
+
     @GET
     @Path("/{id}")
     public Response getUserById(@PathParam("id") Long id) {
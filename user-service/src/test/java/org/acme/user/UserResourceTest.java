@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 @QuarkusTest
@@ -63,4 +64,24 @@ public class UserResourceTest {
             .statusCode(200)
             .body("username", hasItems("akshay", "priya", "rahul", "sneha", "arjun", "kavya", "vikram", "ananya", "rohan", "divya"));
     }
+
+    @Test
+    void testGetUsersPageWalksByCursor() {
+        given()
+            .queryParam("limit", 3)
+            .when().get("/users/page")
+            .then()
+            .statusCode(200)
+            .body("items.id", contains(1, 2, 3))
+            .body("hasNext", is(true));
+
+        given()
+            .queryParam("after", 9)
+            .queryParam("limit", 3)
+            .when().get("/users/page")
+            .then()
+            .statusCode(200)
+            .body("items.id", contains(10))
+            .body("hasNext", is(false));
+    }
 }